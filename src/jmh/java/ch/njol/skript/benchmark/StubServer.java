@@ -0,0 +1,119 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+
+/**
+ * A Bukkit {@link Server} that does nothing, so that benchmarks can use classes requiring a server to be present
+ * (e.g. the static initialisation of {@link ch.njol.skript.Skript}) without starting Minecraft.
+ * <p>
+ * Every method returns a default value. Benchmarks must call {@link #install()} before touching any Skript class.
+ */
+public final class StubServer {
+
+	/**
+	 * The Bukkit version reported by the stub server.
+	 */
+	public static final String BUKKIT_VERSION = "1.11.2-R0.1-SNAPSHOT";
+
+	private static final Logger LOGGER = Logger.getLogger("StubServer");
+
+	private StubServer() {}
+
+	/**
+	 * Installs the stub server unless a server has been set already.
+	 */
+	public static synchronized void install() {
+		if (Bukkit.getServer() != null)
+			return;
+		InvocationHandler handler = StubServer::invoke;
+		Server server = (Server) Proxy.newProxyInstance(StubServer.class.getClassLoader(),
+			new Class<?>[] {Server.class, MinecraftServerHolder.class}, handler);
+		Bukkit.setServer(server);
+	}
+
+	private static Object invoke(Object proxy, Method method, Object[] args) {
+		switch (method.getName()) {
+			case "getBukkitVersion":
+				return BUKKIT_VERSION;
+			case "getVersion":
+				return "git-Stub (MC: 1.11.2)";
+			case "getName":
+				return "StubServer";
+			case "getLogger":
+				return LOGGER;
+			case "getServer": // Used by Skript to find out whether the server is running
+				return new MinecraftServer();
+			case "isPrimaryThread":
+				return true;
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "equals":
+				return proxy == args[0];
+			case "toString":
+				return "StubServer";
+		}
+		return defaultValue(method.getReturnType());
+	}
+
+	private static Object defaultValue(Class<?> type) {
+		if (type == boolean.class)
+			return false;
+		if (type == int.class)
+			return 0;
+		if (type == long.class)
+			return 0L;
+		if (type == double.class)
+			return 0.0;
+		if (type == float.class)
+			return 0.0f;
+		if (type == short.class)
+			return (short) 0;
+		if (type == byte.class)
+			return (byte) 0;
+		if (type == char.class)
+			return '\0';
+		return null;
+	}
+
+	/**
+	 * Mirrors CraftServer#getServer(), which Skript looks up reflectively on old versions.
+	 */
+	public interface MinecraftServerHolder {
+
+		Object getServer();
+
+	}
+
+	public static final class MinecraftServer {
+
+		public boolean isRunning() {
+			return true;
+		}
+
+	}
+
+}
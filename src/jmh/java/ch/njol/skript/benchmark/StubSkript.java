@@ -0,0 +1,73 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.benchmark;
+
+import java.lang.reflect.Field;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+import ch.njol.skript.Skript;
+import sun.misc.Unsafe;
+
+/**
+ * A {@link Skript} instance that was never enabled by a server, so that benchmarks can use registries
+ * that check whether Skript is still accepting registrations, e.g. {@link org.skriptlang.skript.lang.converter.Converters}.
+ * <p>
+ * The instance is created without calling its constructor, as plugins can only be constructed by a plugin loader.
+ */
+public final class StubSkript {
+
+	private static boolean installed;
+
+	private StubSkript() {}
+
+	/**
+	 * Installs the {@link StubServer} and the stub instance, then runs the given registrations
+	 * while Skript accepts them. Skript stops accepting registrations afterwards, so that registries can be used.
+	 * Registrations are only run the first time this is called, as registries can't be cleared.
+	 */
+	public static synchronized void install(Runnable registrations) {
+		if (installed)
+			return;
+		StubServer.install();
+		try {
+			Field unsafeField = Unsafe.class.getDeclaredField("theUnsafe");
+			unsafeField.setAccessible(true);
+			Skript skript = (Skript) ((Unsafe) unsafeField.get(null)).allocateInstance(Skript.class);
+
+			Field instance = Skript.class.getDeclaredField("instance");
+			instance.setAccessible(true);
+			instance.set(null, skript);
+
+			// Skript accepts registrations while it is enabled
+			Field enabled = JavaPlugin.class.getDeclaredField("isEnabled");
+			enabled.setAccessible(true);
+			enabled.setBoolean(skript, true);
+			try {
+				registrations.run();
+			} finally {
+				enabled.setBoolean(skript, false);
+			}
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Could not create a stub Skript instance", e);
+		}
+		installed = true;
+	}
+
+}
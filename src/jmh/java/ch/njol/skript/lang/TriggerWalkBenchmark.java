@@ -0,0 +1,85 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.lang;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.event.Event;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ch.njol.skript.benchmark.StubServer;
+import ch.njol.skript.test.runner.SkriptTestEvent;
+
+/**
+ * Benchmarks the overhead of {@link TriggerItem#walk(TriggerItem, Event)} for a chain of items that do nothing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TriggerWalkBenchmark {
+
+	private static final class NoOp extends TriggerItem {
+
+		int runs;
+
+		@Override
+		protected boolean run(Event event) {
+			runs++;
+			return true;
+		}
+
+		@Override
+		public String toString(@Nullable Event event, boolean debug) {
+			return "no-op";
+		}
+
+	}
+
+	@Param({"1", "10", "100"})
+	public int length;
+
+	private TriggerItem first;
+	private Event event;
+
+	@Setup
+	public void setup() {
+		StubServer.install();
+		event = new SkriptTestEvent();
+		TriggerItem last = first = new NoOp();
+		for (int i = 1; i < length; i++) {
+			TriggerItem item = new NoOp();
+			last.setNext(item);
+			last = item;
+		}
+	}
+
+	@Benchmark
+	public boolean walk() {
+		return TriggerItem.walk(first, event);
+	}
+
+}
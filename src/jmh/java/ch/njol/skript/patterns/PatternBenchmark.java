@@ -0,0 +1,72 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.patterns;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ch.njol.skript.benchmark.StubServer;
+
+/**
+ * Benchmarks compiling and matching syntax patterns.
+ * Only patterns without expressions are used, as matching those requires registered syntax elements.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PatternBenchmark {
+
+	private static final String PATTERN = "[the] (1¦first|2¦last|3¦random) [element] (of|in|from) [the] (list|set|group)[s] [:sorted]";
+
+	private SkriptPattern pattern;
+
+	@Setup
+	public void setup() {
+		StubServer.install();
+		pattern = PatternCompiler.compile(PATTERN);
+	}
+
+	@Benchmark
+	public SkriptPattern compile() {
+		return PatternCompiler.compile(PATTERN);
+	}
+
+	@Benchmark
+	public MatchResult matchShort() {
+		return pattern.match("last of list");
+	}
+
+	@Benchmark
+	public MatchResult matchLong() {
+		return pattern.match("the random element from the groups sorted");
+	}
+
+	@Benchmark
+	public MatchResult mismatch() {
+		return pattern.match("the random element from the chest");
+	}
+
+}
@@ -0,0 +1,95 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.variables;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ch.njol.skript.benchmark.StubServer;
+
+/**
+ * Benchmarks single and list variable access on a {@link VariablesMap}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VariablesMapBenchmark {
+
+	@Param({"10", "1000", "100000"})
+	public int listSize;
+
+	private VariablesMap map;
+	private String[] elementNames;
+	private int next;
+
+	@Setup
+	public void setup() {
+		StubServer.install();
+		map = new VariablesMap();
+		elementNames = new String[listSize];
+		for (int i = 0; i < listSize; i++) {
+			elementNames[i] = "list::" + (i + 1);
+			map.setVariable(elementNames[i], (long) i);
+		}
+		map.setVariable("single", "value");
+	}
+
+	@Benchmark
+	public Object getSingle() {
+		return map.getVariable("single");
+	}
+
+	@Benchmark
+	public Object getListElement() {
+		next = (next + 1) % listSize;
+		return map.getVariable(elementNames[next]);
+	}
+
+	@Benchmark
+	public void setListElement() {
+		next = (next + 1) % listSize;
+		map.setVariable(elementNames[next], (long) next);
+	}
+
+	@Benchmark
+	public void addAndRemoveListElement() {
+		map.setVariable("list::" + (listSize + 1), 1L);
+		map.setVariable("list::" + (listSize + 1), null);
+	}
+
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public void iterateList(Blackhole blackhole) {
+		Map<String, Object> list = (Map<String, Object>) map.getVariable("list::*");
+		assert list != null;
+		for (Map.Entry<String, Object> entry : list.entrySet())
+			blackhole.consume(entry.getValue());
+	}
+
+}
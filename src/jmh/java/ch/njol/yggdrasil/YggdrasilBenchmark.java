@@ -0,0 +1,102 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.yggdrasil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks serialising and deserialising objects with {@link Yggdrasil}, as done for every saved variable.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class YggdrasilBenchmark {
+
+	public enum Kind {
+		SMALL, LARGE
+	}
+
+	public static final class Data implements YggdrasilSerializable {
+
+		private String name = "";
+		private int amount;
+		private double weight;
+		private Kind kind = Kind.SMALL;
+		private long[] history = new long[0];
+
+		public Data() {}
+
+		Data(String name, int amount, double weight, Kind kind, long[] history) {
+			this.name = name;
+			this.amount = amount;
+			this.weight = weight;
+			this.kind = kind;
+			this.history = history;
+		}
+
+	}
+
+	private Yggdrasil yggdrasil;
+	private Data data;
+	private byte[] serialized;
+
+	@Setup
+	public void setup() throws IOException {
+		yggdrasil = new Yggdrasil();
+		yggdrasil.registerSingleClass(Data.class, "Data");
+		yggdrasil.registerSingleClass(Kind.class, "Kind");
+		data = new Data("benchmark", 42, 1.5, Kind.LARGE, new long[] {1, 2, 3, 4, 5, 6, 7, 8});
+		serialized = serialize();
+	}
+
+	@Benchmark
+	public byte[] serialize() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+		try (YggdrasilOutputStream stream = yggdrasil.newOutputStream(out)) {
+			stream.writeObject(data);
+		}
+		return out.toByteArray();
+	}
+
+	@Benchmark
+	public Object deserialize() throws IOException {
+		try (YggdrasilInputStream stream = yggdrasil.newInputStream(new ByteArrayInputStream(serialized))) {
+			return stream.readObject();
+		}
+	}
+
+	@Benchmark
+	public Object roundTrip() throws IOException {
+		try (YggdrasilInputStream stream = yggdrasil.newInputStream(new ByteArrayInputStream(serialize()))) {
+			return stream.readObject();
+		}
+	}
+
+}
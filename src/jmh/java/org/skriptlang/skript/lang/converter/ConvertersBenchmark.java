@@ -0,0 +1,76 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package org.skriptlang.skript.lang.converter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ch.njol.skript.benchmark.StubSkript;
+
+/**
+ * Benchmarks converter lookups, both for registered converters and for pairs without a converter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConvertersBenchmark {
+
+	@Setup
+	public void setup() {
+		StubSkript.install(() -> {
+			Converters.registerConverter(Integer.class, String.class, String::valueOf);
+			Converters.registerConverter(String.class, StringBuilder.class, StringBuilder::new);
+			Converters.registerConverter(Long.class, Integer.class, Long::intValue);
+			Converters.createChainedConverters();
+		});
+	}
+
+	@Benchmark
+	public Object getConverter() {
+		return Converters.getConverter(Integer.class, String.class);
+	}
+
+	@Benchmark
+	public Object getChainedConverter() {
+		return Converters.getConverter(Long.class, StringBuilder.class);
+	}
+
+	@Benchmark
+	public Object getMissingConverter() {
+		return Converters.getConverter(Double.class, StringBuilder.class);
+	}
+
+	@Benchmark
+	public Object convert() {
+		return Converters.convert(42, String.class);
+	}
+
+	@Benchmark
+	public Object convertToSupertype() {
+		return Converters.convert(42, Number.class);
+	}
+
+}
@@ -57,14 +57,18 @@ import ch.njol.skript.log.LogEntry;
 import ch.njol.skript.log.LogHandler;
 import ch.njol.skript.log.SkriptLogger;
 import ch.njol.skript.log.Verbosity;
+import ch.njol.skript.metrics.MetricsExporter;
+import ch.njol.skript.patterns.PatternCache;
 import ch.njol.skript.registrations.Classes;
 import ch.njol.skript.registrations.EventValues;
 import ch.njol.skript.test.runner.EffObjectives;
+import ch.njol.skript.test.runner.LoadTest;
 import ch.njol.skript.test.runner.SkriptJUnitTest;
 import ch.njol.skript.test.runner.SkriptTestEvent;
 import ch.njol.skript.test.runner.TestMode;
 import ch.njol.skript.test.runner.TestTracker;
 import ch.njol.skript.timings.SkriptTimings;
+import ch.njol.skript.timings.TriggerProfiler;
 import ch.njol.skript.update.ReleaseManifest;
 import ch.njol.skript.update.ReleaseStatus;
 import ch.njol.skript.update.UpdateManifest;
@@ -509,6 +513,19 @@ public final class Skript extends JavaPlugin implements Listener {
 		if (TestMode.VERBOSITY != null)
 			SkriptLogger.setVerbosity(Verbosity.valueOf(TestMode.VERBOSITY));
 
+		if (SkriptConfig.cachePatterns.value())
+			PatternCache.load(new File(getDataFolder(), PATTERN_CACHE), getFile());
+
+		if (SkriptConfig.metricsFile.value() || SkriptConfig.metricsJmx.value()) {
+			MetricsExporter metricsExporter = new MetricsExporter(
+				SkriptConfig.metricsFile.value() ? new File(getDataFolder(), METRICS_FILE) : null,
+				SkriptConfig.metricsJmx.value(),
+				SkriptConfig.metricsInterval.value()
+			);
+			metricsExporter.start();
+			closeOnDisable(metricsExporter);
+		}
+
 		// Use the updater, now that it has been configured to (not) do stuff
 		if (updater != null) {
 			CommandSender console = Bukkit.getConsoleSender();
@@ -630,7 +647,7 @@ public final class Skript extends JavaPlugin implements Listener {
 					public LogResult log(final LogEntry entry) {
 						super.log(entry);
 						if (entry.level.intValue() >= Level.SEVERE.intValue()) {
-							logEx(entry.message); // no [Skript] prefix
+							logEx(entry.getMessage()); // no [Skript] prefix
 							return LogResult.DO_NOT_LOG;
 						} else {
 							return LogResult.LOG;
@@ -693,6 +710,13 @@ public final class Skript extends JavaPlugin implements Listener {
 							}
 
 							Bukkit.getPluginManager().callEvent(new SkriptTestEvent());
+							if (TestMode.LOAD_TEST) {
+								shutdownDelay = LoadTest.start();
+								if (shutdownDelay == 0) {
+									TestTracker.testStarted("load test");
+									TestTracker.testFailed("load test could not be started");
+								}
+							}
 							if (errorCounter.getCount() > 0) {
 								TestTracker.testStarted("parse scripts");
 								TestTracker.testFailed(errorCounter.getCount() + " error(s) found");
@@ -866,6 +890,9 @@ public final class Skript extends JavaPlugin implements Listener {
 
 							Skript.info(m_finished_loading.toString());
 
+							// Most patterns have been compiled by now
+							PatternCache.save(new File(getDataFolder(), PATTERN_CACHE));
+
 							// EvtSkript.onSkriptStart should be called on main server thread
 							if (!ScriptLoader.isAsync()) {
 								EvtSkript.onSkriptStart();
@@ -1224,6 +1251,11 @@ public final class Skript extends JavaPlugin implements Listener {
 
 		Bukkit.getScheduler().cancelTasks(this);
 
+		// The profiler is only stopped by a command, don't leave it sampling a disabled plugin
+		TriggerProfiler.stop();
+
+		PatternCache.save(new File(getDataFolder(), PATTERN_CACHE));
+
 		for (Closeable c : closeOnDisable) {
 			try {
 				c.close();
@@ -1237,6 +1269,10 @@ public final class Skript extends JavaPlugin implements Listener {
 
 	public final static String SCRIPTSFOLDER = "scripts";
 
+	private final static String PATTERN_CACHE = "patterns.cache";
+
+	private final static String METRICS_FILE = "metrics.txt";
+
 	public static void outdatedError() {
 		error("Skript v" + getInstance().getDescription().getVersion() + " is not fully compatible with Bukkit " + Bukkit.getVersion() + ". Some feature(s) will be broken until you update Skript.");
 	}
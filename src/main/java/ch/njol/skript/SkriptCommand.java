@@ -30,6 +30,7 @@ import ch.njol.skript.log.TimingLogHandler;
 import ch.njol.skript.test.runner.SkriptTestEvent;
 import ch.njol.skript.test.runner.TestMode;
 import ch.njol.skript.test.runner.TestTracker;
+import ch.njol.skript.timings.TriggerProfiler;
 import ch.njol.skript.util.ExceptionUtils;
 import ch.njol.skript.util.FileUtils;
 import ch.njol.skript.util.SkriptColor;
@@ -51,6 +52,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -78,6 +80,9 @@ public class SkriptCommand implements CommandExecutor {
 			.add("check")
 			.add("changes")
 			.add("download")
+		).add(new CommandHelp("profile", SkriptColor.DARK_CYAN)
+			.add("start")
+			.add("stop")
 		).add("info"
 		).add("help");
 
@@ -91,6 +96,12 @@ public class SkriptCommand implements CommandExecutor {
 			SKRIPT_COMMAND_HELP.add("test");
 	}
 
+	/**
+	 * Time between two samples of the profiler, in microseconds
+	 */
+	private static final long PROFILER_INTERVAL = 1000;
+	private static final String PROFILES_FOLDER = "profiles";
+
 	private static void reloading(CommandSender sender, String what, Object... args) {
 		what = args.length == 0 ? Language.get(CONFIG_NODE + ".reload." + what) : Language.format(CONFIG_NODE + ".reload." + what, args);
 		Skript.info(sender, StringUtils.fixCapitalization(m_reloading.toString(what)));
@@ -395,6 +406,34 @@ public class SkriptCommand implements CommandExecutor {
 
 			}
 
+			else if (args[0].equalsIgnoreCase("profile")) {
+				if (args[1].equalsIgnoreCase("start")) {
+					if (TriggerProfiler.start(Thread.currentThread(), PROFILER_INTERVAL))
+						info(sender, "profile.started");
+					else
+						error(sender, "profile.already running");
+				} else if (args[1].equalsIgnoreCase("stop")) {
+					TriggerProfiler.Result result = TriggerProfiler.stop();
+					if (result == null) {
+						error(sender, "profile.not running");
+						return true;
+					}
+					info(sender, "profile.stopped", result.getDuration(), result.getSampleCount());
+					for (Map.Entry<String, long[]> line : result.getHottestLines(5)) {
+						long[] values = line.getValue();
+						Skript.info(sender, " - " + line.getKey() + " <gray>(<gold>" + values[0] + "ms<gray>" +
+							(result.areAllocationsTracked() ? ", <gold>" + values[1] / 1024 + "KiB<gray>" : "") + ")");
+					}
+					try {
+						File[] files = result.dump(new File(Skript.getInstance().getDataFolder(), PROFILES_FOLDER));
+						for (File file : files)
+							info(sender, "profile.saved", file.getName());
+					} catch (IOException e) {
+						error(sender, "profile.io error", ExceptionUtils.toString(e));
+					}
+				}
+			}
+
 			else if (args[0].equalsIgnoreCase("gen-docs")) {
 				File templateDir = Documentation.getDocsTemplateDirectory();
 				if (!templateDir.exists()) {
@@ -47,6 +47,9 @@ public class SkriptCommandTabCompleter implements TabCompleter {
 			options.add("check");
 			options.add("changes");
 			options.add("download");
+		} else if (args[0].equalsIgnoreCase("profile") && args.length == 2) {
+			options.add("start");
+			options.add("stop");
 		} else if (args[0].matches("(?i)(reload|disable|enable)") && args.length == 2) {
 			File scripts = new File(Skript.getInstance().getDataFolder(), Skript.SCRIPTSFOLDER);
 			String scriptArg = StringUtils.join(args, " ", 1, args.length); 
@@ -94,6 +97,7 @@ public class SkriptCommandTabCompleter implements TabCompleter {
 			options.add("enable");
 			options.add("disable");
 			options.add("update");
+			options.add("profile");
 			options.add("info");
 			if (new File(Skript.getInstance().getDataFolder() + "/doc-templates").exists()) {
 				options.add("gen-docs");
@@ -30,10 +30,12 @@ import ch.njol.skript.hooks.regions.PreciousStonesHook;
 import ch.njol.skript.hooks.regions.ResidenceHook;
 import ch.njol.skript.hooks.regions.WorldGuardHook;
 import ch.njol.skript.lang.function.Function;
+import ch.njol.skript.lang.function.FunctionCache;
 import ch.njol.skript.localization.Language;
 import ch.njol.skript.log.SkriptLogger;
 import ch.njol.skript.log.Verbosity;
 import ch.njol.skript.timings.SkriptTimings;
+import ch.njol.skript.timings.TriggerBudget;
 import ch.njol.skript.update.ReleaseChannel;
 import ch.njol.skript.util.FileUtils;
 import ch.njol.skript.util.Timespan;
@@ -292,6 +294,18 @@ public class SkriptConfig {
 	public static final Option<Boolean> loadDefaultAliases = new Option<>("load default aliases", true)
 			.optional(true);
 
+	public static final Option<Boolean> cachePatterns = new Option<>("cache compiled patterns", true)
+			.optional(true);
+
+	public static final Option<Boolean> metricsFile = new Option<>("metrics.file", false)
+			.optional(true);
+
+	public static final Option<Boolean> metricsJmx = new Option<>("metrics.jmx", false)
+			.optional(true);
+
+	public static final Option<Timespan> metricsInterval = new Option<>("metrics.interval", new Timespan(10 * 1000))
+			.optional(true);
+
 	public static final Option<Boolean> executeFunctionsWithMissingParams = new Option<>("execute functions with missing parameters", true)
 			.optional(true)
 			.setter(t -> Function.executeWithNulls = t);
@@ -346,6 +360,14 @@ public class SkriptConfig {
 
 	public static final Option<Timespan> longParseTimeWarningThreshold = new Option<>("long parse time warning threshold", new Timespan(0));
 
+	public static final Option<Timespan> loopTimeBudget = new Option<>("loop time budget", new Timespan(0))
+			.optional(true)
+			.setter(TriggerBudget::setBudget);
+
+	public static final Option<Integer> maxCachedFunctionResults = new Option<>("max cached function results", 1000)
+			.optional(true)
+			.setter(t -> FunctionCache.maxSize = t);
+
 	/**
 	 * This should only be used in special cases
 	 */
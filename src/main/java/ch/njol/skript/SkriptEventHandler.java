@@ -20,11 +20,14 @@ package ch.njol.skript;
 
 import ch.njol.skript.lang.SkriptEvent;
 import ch.njol.skript.lang.Trigger;
+import ch.njol.skript.metrics.Counter;
+import ch.njol.skript.metrics.SkriptMetrics;
 import ch.njol.skript.timings.SkriptTimings;
 import ch.njol.skript.util.Task;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import org.bukkit.Bukkit;
+import org.bukkit.Material;
 import org.bukkit.event.Cancellable;
 import org.bukkit.event.Event;
 import org.bukkit.event.Event.Result;
@@ -39,6 +42,7 @@ import org.eclipse.jdt.annotation.Nullable;
 
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -46,6 +50,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public final class SkriptEventHandler {
@@ -88,12 +94,102 @@ public final class SkriptEventHandler {
 	 */
 	private static final Multimap<Class<? extends Event>, Trigger> triggers = ArrayListMultimap.create();
 
+	/**
+	 * Functions returning the material an event is about, per event class.
+	 * @see #registerMaterialKey(Class, Function)
+	 */
+	private static final Map<Class<? extends Event>, Function<Event, Material>> materialKeys = new ConcurrentHashMap<>();
+
+	/**
+	 * Triggers to dispatch events to, per event class. Cleared whenever triggers are (un)registered.
+	 */
+	private static final Map<Class<? extends Event>, TriggerIndex> triggerIndexes = new ConcurrentHashMap<>();
+
+	/**
+	 * The triggers of an event class, indexed by the materials their events are {@link SkriptEvent#getMaterialFilter() filtered} by.
+	 */
+	private static final class TriggerIndex {
+
+		private final List<Trigger> triggers;
+
+		@Nullable
+		private final Function<Event, Material> materialKey;
+
+		/**
+		 * Triggers that may need to run for events about a material, in the same order as {@link #triggers}.
+		 * Filled lazily, as only few materials are usually involved.
+		 */
+		private final Map<Material, List<Trigger>> materialTriggers = new ConcurrentHashMap<>();
+
+		TriggerIndex(Class<? extends Event> eventClass) {
+			this.triggers = SkriptEventHandler.getTriggers(eventClass);
+			boolean filtered = false;
+			for (Trigger trigger : triggers)
+				filtered |= trigger.getEvent().getMaterialFilter() != null;
+			this.materialKey = filtered ? getMaterialKey(eventClass) : null;
+		}
+
+		List<Trigger> getTriggers(Event event) {
+			Function<Event, Material> materialKey = this.materialKey;
+			if (materialKey == null)
+				return triggers;
+			Material material = materialKey.apply(event);
+			if (material == null)
+				return triggers;
+			return materialTriggers.computeIfAbsent(material, this::filterTriggers);
+		}
+
+		private List<Trigger> filterTriggers(Material material) {
+			List<Trigger> matching = new ArrayList<>();
+			for (Trigger trigger : triggers) {
+				Set<Material> filter = trigger.getEvent().getMaterialFilter();
+				if (filter == null || filter.contains(material))
+					matching.add(trigger);
+			}
+			return matching;
+		}
+
+	}
+
+	/**
+	 * Registers how to get the material an event is about, e.g. the type of the broken block for block break events.
+	 * Events of the given class (or its subclasses) are then only dispatched to triggers whose events
+	 * {@link SkriptEvent#getMaterialFilter() can match} their material.
+	 * @param eventClass The event class.
+	 * @param materialKey The function returning the material of an event, or null if it is not known.
+	 *                    All events returning a material filter for this event class must agree on its meaning.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E extends Event> void registerMaterialKey(Class<E> eventClass, Function<E, Material> materialKey) {
+		materialKeys.put(eventClass, (Function<Event, Material>) materialKey);
+		triggerIndexes.clear();
+	}
+
+	@Nullable
+	private static Function<Event, Material> getMaterialKey(Class<?> eventClass) {
+		for (Class<?> type = eventClass; type != null && Event.class.isAssignableFrom(type); type = type.getSuperclass()) {
+			Function<Event, Material> materialKey = materialKeys.get(type);
+			if (materialKey != null)
+				return materialKey;
+		}
+		return null;
+	}
+
+	/**
+	 * @param event The event to find the triggers for.
+	 * @return The triggers that may need to run for the given event, i.e. the ones registered under its class
+	 * that are not skipped because of their {@link SkriptEvent#getMaterialFilter() material filter}.
+	 */
+	private static List<Trigger> getTriggers(Event event) {
+		return triggerIndexes.computeIfAbsent(event.getClass(), TriggerIndex::new).getTriggers(event);
+	}
+
 	/**
 	 * A utility method to get all Triggers registered under the provided Event class.
 	 * @param event The event to find pairs from.
 	 * @return A List containing all Triggers registered under the provided Event class.
 	 */
-	private static List<Trigger> getTriggers(Class<? extends Event> event) {
+	public static List<Trigger> getTriggers(Class<? extends Event> event) {
 		HandlerList eventHandlerList = getHandlerList(event);
 		assert eventHandlerList != null; // It had one at some point so this should remain true
 		return triggers.asMap().entrySet().stream()
@@ -102,6 +198,11 @@ public final class SkriptEventHandler {
 				.collect(Collectors.toList()); // forces evaluation now and prevents us from having to call getTriggers again if very high logging is enabled
 	}
 
+	/**
+	 * Counters of executed triggers, per event class.
+	 */
+	private static final Map<Class<? extends Event>, Counter> TRIGGER_EXECUTIONS = new ConcurrentHashMap<>();
+
 	/**
 	 * This method is used for validating that the provided Event may be handled by Skript.
 	 * If validation is successful, all Triggers associated with the provided Event are executed.
@@ -111,7 +212,7 @@ public final class SkriptEventHandler {
 	 */
 	private static void check(Event event, EventPriority priority) {
 		// get all triggers for this event, return if none
-		List<Trigger> triggers = getTriggers(event.getClass());
+		List<Trigger> triggers = getTriggers(event);
 		if (triggers.isEmpty())
 			return;
 
@@ -178,19 +279,21 @@ public final class SkriptEventHandler {
 	private static void execute(Trigger trigger, Event event) {
 		// these methods need to be run on whatever thread the trigger is
 		Runnable execute = () -> {
+			TRIGGER_EXECUTIONS.computeIfAbsent(event.getClass(), eventClass -> SkriptMetrics.counter("trigger_executions_total",
+				SkriptMetrics.label("event", eventClass.getSimpleName()), "Triggers executed per event")).increment();
 			logTriggerStart(trigger);
 			Object timing = SkriptTimings.start(trigger.getDebugLabel());
-			trigger.execute(event);
+			trigger.execute(event, false); // guards have been checked with the event, before running this
 			SkriptTimings.stop(timing);
 			logTriggerEnd(trigger);
 		};
 
 		if (trigger.getEvent().canExecuteAsynchronously()) {
-			if (trigger.getEvent().check(event))
+			if (trigger.getEvent().check(event) && trigger.checkGuards(event))
 				execute.run();
 		} else { // Ensure main thread
 			Task.callSync(() -> {
-				if (trigger.getEvent().check(event))
+				if (trigger.getEvent().check(event) && trigger.checkGuards(event))
 					execute.run();
 				return null; // we don't care about a return value
 			});
@@ -302,6 +405,7 @@ public final class SkriptEventHandler {
 			return;
 
 		triggers.put(event, trigger);
+		triggerIndexes.clear();
 
 		EventPriority priority = trigger.getEvent().getEventPriority();
 
@@ -325,6 +429,7 @@ public final class SkriptEventHandler {
 
 			// Remove the trigger from the map
 			entryIterator.remove();
+			triggerIndexes.clear();
 
 			// check if we can unregister the listener
 			EventPriority priority = trigger.getEvent().getEventPriority();
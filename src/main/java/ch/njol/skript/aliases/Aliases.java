@@ -33,6 +33,7 @@ import ch.njol.skript.localization.Message;
 import ch.njol.skript.localization.Noun;
 import ch.njol.skript.localization.RegexMessage;
 import ch.njol.skript.log.BlockingLogHandler;
+import ch.njol.skript.log.CountingLogHandler;
 import ch.njol.skript.util.EnchantmentType;
 import ch.njol.skript.util.Utils;
 import ch.njol.skript.util.Version;
@@ -41,6 +42,7 @@ import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.eclipse.jdt.annotation.Nullable;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.URI;
@@ -50,11 +52,16 @@ import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public abstract class Aliases {
 
@@ -62,6 +69,8 @@ public abstract class Aliases {
 
 	private static final AliasesProvider provider = createProvider(10000, null);
 	private static final AliasesParser parser = createParser(provider);
+
+	private static final String SNAPSHOT_FILE = "aliases.cache";
 	
 	@Nullable
 	private static ItemType getAlias_i(final String s) {
@@ -411,6 +420,7 @@ public abstract class Aliases {
 	
 	private static void loadInternal() throws IOException {
 		Path dataFolder = Skript.getInstance().getDataFolder().toPath();
+		List<AliasesFile> files = new ArrayList<>();
 		
 		// Load aliases.zip OR aliases from jar (never both)
 		Path zipPath = dataFolder.resolve("aliases-english.zip");
@@ -421,7 +431,7 @@ public abstract class Aliases {
 				assert zipFs != null; // It better not be...
 				Path aliasesPath = zipFs.getPath("/");
 				assert aliasesPath != null;
-				loadDirectory(aliasesPath);
+				files.addAll(readDirectory(aliasesPath));
 			}
 		} else { // Fall back to jar loading
 			try {
@@ -430,7 +440,7 @@ public abstract class Aliases {
 					assert zipFs != null;
 					Path aliasesPath = zipFs.getPath("/", "aliases-english");
 					assert aliasesPath != null;
-					loadDirectory(aliasesPath);
+					files.addAll(readDirectory(aliasesPath));
 				}
 			} catch (URISyntaxException e) {
 				assert false;
@@ -442,7 +452,31 @@ public abstract class Aliases {
 		Path aliasesFolder = dataFolder.resolve("aliases");
 		if (Files.exists(aliasesFolder)) {
 			assert aliasesFolder != null;
-			loadDirectory(aliasesFolder);
+			files.addAll(readDirectory(aliasesFolder));
+		}
+
+		// Reuse the snapshot of the previous startup if the alias files haven't changed since
+		Path snapshotPath = dataFolder.resolve(SNAPSHOT_FILE);
+		String hash = AliasesSnapshot.hash(files);
+		AliasesSnapshot snapshot = AliasesSnapshot.read(snapshotPath, hash);
+		if (snapshot != null) {
+			Skript.debug("Loading " + snapshot.size() + " aliases from snapshot");
+			snapshot.apply(provider);
+		} else {
+			AliasesSnapshot recorder = new AliasesSnapshot(hash);
+			provider.setRecorder(recorder);
+			int problems;
+			try (CountingLogHandler counter = new CountingLogHandler(Level.WARNING).start()) {
+				for (Config config : parseFiles(files))
+					load(config);
+				problems = counter.getCount();
+			} finally {
+				provider.setRecorder(null);
+			}
+
+			// Errors and warnings wouldn't be printed again when loading from the snapshot
+			if (problems == 0)
+				recorder.write(snapshotPath);
 		}
 
 		// generate aliases from item names for any missing items
@@ -466,23 +500,76 @@ public abstract class Aliases {
 	 * @throws IOException If something goes wrong with loading.
 	 */
 	public static void loadDirectory(Path dir) throws IOException {
+		for (Config config : parseFiles(readDirectory(dir)))
+			load(config);
+	}
+
+	/**
+	 * The content of an alias file, read ahead of parsing.
+	 */
+	static final class AliasesFile {
+
+		final String name;
+		final byte[] content;
+
+		AliasesFile(String name, byte[] content) {
+			this.name = name;
+			this.content = content;
+		}
+
+	}
+
+	/**
+	 * Reads all alias files from the given directory and its subdirectories concurrently.
+	 * @param dir Directory of aliases.
+	 * @return The alias files, in the order they should be loaded in.
+	 * @throws IOException If something goes wrong with reading.
+	 */
+	private static List<AliasesFile> readDirectory(Path dir) throws IOException {
+		List<Path> paths = new ArrayList<>();
+		collectFiles(dir, paths);
 		try {
-			Files.list(dir).sorted().forEach((f) -> {
-				assert f != null;
-				try {
-					String name = f.getFileName().toString();
-					if (Files.isDirectory(f) && !name.startsWith("."))
-						loadDirectory(f);
-					else if (name.endsWith(".sk"))
-						load(f);
-				} catch (IOException e) {
-					throw new UncheckedIOException(e);
-				}
-			});
+			return paths.parallelStream()
+				.map(path -> {
+					try {
+						return new AliasesFile("" + path.getFileName(), Files.readAllBytes(path));
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				})
+				.collect(Collectors.toList());
 		} catch (UncheckedIOException e) {
 			throw e.getCause();
 		}
 	}
+
+	private static void collectFiles(Path dir, List<Path> paths) throws IOException {
+		List<Path> children;
+		try (Stream<Path> list = Files.list(dir)) {
+			children = list.sorted().collect(Collectors.toList());
+		}
+		for (Path path : children) {
+			String name = path.getFileName().toString();
+			if (Files.isDirectory(path) && !name.startsWith("."))
+				collectFiles(path, paths);
+			else if (name.endsWith(".sk"))
+				paths.add(path);
+		}
+	}
+
+	/**
+	 * Parses the given alias files, which were read concurrently. Parsing happens on the calling thread,
+	 * as errors and warnings of the configs are only passed to the log handlers of the thread they happen on.
+	 * @param files Alias files to parse.
+	 * @return The parsed configs, in the same order as the given files.
+	 * @throws IOException If any file can't be parsed.
+	 */
+	private static List<Config> parseFiles(List<AliasesFile> files) throws IOException {
+		List<Config> configs = new ArrayList<>(files.size());
+		for (AliasesFile file : files)
+			configs.add(new Config(new ByteArrayInputStream(file.content), file.name, null, false, false, "="));
+		return configs;
+	}
 	
 	/**
 	 * Loads aliases from given path.
@@ -176,6 +176,8 @@ public class AliasesMap {
 			if (quality.isBetter(maxQuality)) {
 				maxQuality = quality;
 				bestMatch = data;
+				if (quality == MatchQuality.EXACT) // Nothing can be better than this
+					break;
 			}
 		}
 		
@@ -167,6 +167,12 @@ public class AliasesProvider {
 	 * Allows looking up aliases based on item datas created runtime.
 	 */
 	private final AliasesMap aliasesMap;
+
+	/**
+	 * If set, all aliases added to this provider are recorded to this snapshot.
+	 */
+	@Nullable
+	private AliasesSnapshot recorder;
 	
 	/**
 	 * Constructs a new aliases provider with no data.
@@ -261,6 +267,9 @@ public class AliasesProvider {
 	 * @param blockStates Block states.
 	 */
 	public void addAlias(AliasName name, String id, @Nullable Map<String, Object> tags, Map<String, String> blockStates) {
+		// Block states are modified below, so the recorder needs its own copy
+		Map<String, String> recordedStates = recorder != null ? new HashMap<>(blockStates) : null;
+
 		// First, try to find if aliases already has a type with this id
 		// (so that aliases can refer to each other)
 		ItemType typeOfId = getAlias(id);
@@ -334,6 +343,15 @@ public class AliasesProvider {
 				type.add(newData);
 			}
 		}
+
+		if (recorder != null) {
+			assert recordedStates != null;
+			recorder.record(name, id, tags, recordedStates);
+		}
+	}
+
+	void setRecorder(@Nullable AliasesSnapshot recorder) {
+		this.recorder = recorder;
 	}
 	
 	public void addVariationGroup(String name, VariationGroup group) {
@@ -0,0 +1,200 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.aliases;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.aliases.AliasesProvider.AliasName;
+import ch.njol.skript.util.FileUtils;
+import com.google.gson.Gson;
+import org.eclipse.jdt.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A binary snapshot of the global aliases, which allows skipping the parsing of the alias files
+ * when their content hasn't changed since the snapshot was written.
+ * <p>
+ * The snapshot records every alias as it is added to the {@link AliasesProvider},
+ * i.e. after all patterns, variations and conditions have been resolved.
+ * It is only valid for the exact same alias files, Skript version and Minecraft version.
+ */
+final class AliasesSnapshot {
+
+	private static final int MAGIC = 0x534B4153; // SKAS
+	private static final int FORMAT_VERSION = 1;
+
+	private static final Gson GSON = new Gson();
+
+	/**
+	 * An alias as it was added to the provider.
+	 */
+	private static final class Entry {
+
+		final AliasName name;
+		final String id;
+		@Nullable
+		final String tags;
+		final Map<String, String> blockStates;
+
+		Entry(AliasName name, String id, @Nullable String tags, Map<String, String> blockStates) {
+			this.name = name;
+			this.id = id;
+			this.tags = tags;
+			this.blockStates = blockStates;
+		}
+
+	}
+
+	private final String hash;
+	private final List<Entry> entries;
+
+	AliasesSnapshot(String hash) {
+		this(hash, new ArrayList<>());
+	}
+
+	private AliasesSnapshot(String hash, List<Entry> entries) {
+		this.hash = hash;
+		this.entries = entries;
+	}
+
+	/**
+	 * Records an alias that was added to a provider.
+	 * Called by {@link AliasesProvider#addAlias(AliasName, String, Map, Map)}.
+	 */
+	void record(AliasName name, String id, @Nullable Map<String, Object> tags, Map<String, String> blockStates) {
+		entries.add(new Entry(name, id, tags == null ? null : GSON.toJson(tags), blockStates));
+	}
+
+	/**
+	 * Adds all aliases of this snapshot to the given provider, in the order they were recorded.
+	 */
+	void apply(AliasesProvider provider) {
+		for (Entry entry : entries) {
+			Map<String, Object> tags = entry.tags == null ? null : provider.parseMojangson(entry.tags);
+			try {
+				provider.addAlias(entry.name, entry.id, tags, new HashMap<>(entry.blockStates));
+			} catch (InvalidMinecraftIdException e) { // Can't really happen, the Minecraft version is part of the hash
+				Skript.debug("Invalid Minecraft id in aliases snapshot: " + e.getId());
+			}
+		}
+	}
+
+	int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Computes the hash that identifies the given alias files together with the current Skript and Minecraft versions.
+	 */
+	static String hash(List<Aliases.AliasesFile> files) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e); // Every Java platform is required to support SHA-256
+		}
+		digest.update((Skript.getVersion() + "/" + Skript.getMinecraftVersion()).getBytes(StandardCharsets.UTF_8));
+		for (Aliases.AliasesFile file : files) {
+			digest.update(file.name.getBytes(StandardCharsets.UTF_8));
+			digest.update(file.content);
+		}
+		StringBuilder hex = new StringBuilder();
+		for (byte b : digest.digest())
+			hex.append(String.format("%02x", b));
+		return hex.toString();
+	}
+
+	/**
+	 * Reads the snapshot at the given path.
+	 * @return The snapshot, or null if it doesn't exist, can't be read or was written for different alias files.
+	 */
+	@Nullable
+	static AliasesSnapshot read(Path path, String hash) {
+		if (!Files.exists(path))
+			return null;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !in.readUTF().equals(hash))
+				return null;
+			int size = in.readInt();
+			List<Entry> entries = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				AliasName name = new AliasName(in.readUTF(), in.readUTF(), in.readInt());
+				String id = in.readUTF();
+				String tags = in.readBoolean() ? in.readUTF() : null;
+				int states = in.readInt();
+				Map<String, String> blockStates = new HashMap<>(states);
+				for (int j = 0; j < states; j++)
+					blockStates.put(in.readUTF(), in.readUTF());
+				entries.add(new Entry(name, id, tags, blockStates));
+			}
+			return new AliasesSnapshot(hash, entries);
+		} catch (IOException e) {
+			Skript.debug("Could not read the aliases snapshot: " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * Writes this snapshot to the given path, replacing any previous snapshot.
+	 */
+	void write(Path path) {
+		File temp = new File(path + ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp.toPath())))) {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeUTF(hash);
+				out.writeInt(entries.size());
+				for (Entry entry : entries) {
+					out.writeUTF(entry.name.singular);
+					out.writeUTF(entry.name.plural);
+					out.writeInt(entry.name.gender);
+					out.writeUTF(entry.id);
+					out.writeBoolean(entry.tags != null);
+					if (entry.tags != null)
+						out.writeUTF(entry.tags);
+					out.writeInt(entry.blockStates.size());
+					for (Map.Entry<String, String> state : entry.blockStates.entrySet()) {
+						out.writeUTF(state.getKey());
+						out.writeUTF(state.getValue());
+					}
+				}
+			}
+			FileUtils.move(temp, path.toFile(), true);
+		} catch (IOException e) {
+			Skript.debug("Could not write the aliases snapshot: " + e);
+			temp.delete();
+		}
+	}
+
+}
@@ -61,6 +61,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -136,6 +138,19 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	@Nullable
 	private ItemMeta globalMeta;
 
+	/**
+	 * {@link #types} indexed by their material, so that items can be matched against this type
+	 * without going through all of its types. Built lazily and reset whenever the types change.
+	 */
+	@Nullable
+	private transient Map<Material, List<ItemData>> materialIndex;
+
+	/**
+	 * Whether one of the {@link #types} matches items of any material, in which case {@link #materialIndex} can't be used.
+	 * Only valid while {@link #materialIndex} is not null.
+	 */
+	private transient boolean matchesAnyMaterial;
+
 	void setItem(final @Nullable ItemType item) {
 		if (equals(item)) { // can happen if someone defines a 'x' and 'x item/block' alias that have the same value, e.g. 'dirt' and 'dirt block'
 			this.item = null;
@@ -211,6 +226,7 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 		for (final ItemData d : i) {
 			types.add(d.clone());
 		}
+		materialIndex = null;
 	}
 
 	public ItemType(Block block) {
@@ -272,6 +288,8 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	public boolean isOfType(@Nullable ItemStack item) {
 		if (item == null)
 			return isOfType(Material.AIR, null);
+		if (getCandidates(item.getType()).isEmpty())
+			return false;
 		return isOfType(new ItemData(item));
 	}
 
@@ -289,7 +307,7 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	}
 
 	public boolean isOfType(ItemData type) {
-		for (final ItemData myType : types) {
+		for (final ItemData myType : type.isAnything ? types : getCandidates(type.getType())) {
 			if (myType.equals(type)) {
 				return true;
 			}
@@ -298,14 +316,68 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	}
 
 	public boolean isOfType(Material id, @Nullable String tags) {
+		if (getCandidates(id).isEmpty())
+			return false;
 		return isOfType(new ItemData(id, tags));
 	}
 
 	public boolean isOfType(Material id) {
-		// TODO avoid object creation
+		if (getCandidates(id).isEmpty())
+			return false;
 		return isOfType(new ItemData(id, (String) null));
 	}
 
+	/**
+	 * @return The materials of all items this item type can match, or null if it can match items of any material.
+	 */
+	@Nullable
+	public Set<Material> getMaterials() {
+		Set<Material> materials = EnumSet.noneOf(Material.class);
+		for (ItemData data : types) {
+			if (data.isAnything)
+				return null;
+			materials.add(data.getType());
+		}
+		return materials;
+	}
+
+	/**
+	 * Gets the types of this item type that items of the given material could match.
+	 * Types of other materials can never match such items, unless they match anything.
+	 * @param material The material of the item.
+	 * @return The candidate types, which must not be modified.
+	 */
+	private List<ItemData> getCandidates(Material material) {
+		Map<Material, List<ItemData>> index = materialIndex;
+		if (index == null) {
+			index = new EnumMap<>(Material.class);
+			boolean matchesAnyMaterial = false;
+			for (ItemData data : types) {
+				index.computeIfAbsent(data.getType(), m -> new ArrayList<>(1)).add(data);
+				matchesAnyMaterial |= data.isAnything;
+			}
+			this.matchesAnyMaterial = matchesAnyMaterial;
+			materialIndex = index;
+		}
+		if (matchesAnyMaterial)
+			return types;
+		List<ItemData> candidates = index.get(material);
+		return candidates != null ? candidates : Collections.emptyList();
+	}
+
+	/**
+	 * Checks whether any item stack of the given type's material matches the given type,
+	 * which is the case for unmodified aliases, as they only need to share the material with an item stack.
+	 * This allows matching such stacks without creating an {@link ItemData} for them.
+	 * @param type One of this item type's types.
+	 * @return Whether all stacks of that material match the given type.
+	 */
+	private static boolean matchesAllStacksOfMaterial(ItemData type) {
+		// Stacks are never aliases or plain, so only the material is compared (see isSimilar(ItemData, ItemData))
+		// On 1.12 and below, the data value must be compared as well
+		return !ItemData.itemDataValues && type.isAlias() && !type.isPlain() && !type.isAnything;
+	}
+
 	/**
 	 * Checks if this type represents all the items represented by given
 	 * item type. This type may of course also represent other items.
@@ -421,6 +493,7 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	private void add_(@Nullable ItemData type) {
 		if (type != null) {
 			types.add(type);
+			materialIndex = null;
 			//numItems += type.numItems();
 			modified();
 		}
@@ -428,11 +501,13 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 
 	public void addAll(Collection<ItemData> types) {
 		this.types.addAll(types);
+		materialIndex = null;
 		modified();
 	}
 
 	public void remove(ItemData type) {
 		if (types.remove(type)) {
+			materialIndex = null;
 			//numItems -= type.numItems();
 			modified();
 		}
@@ -440,6 +515,7 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 
 	void remove(int index) {
 		types.remove(index);
+		materialIndex = null;
 		//numItems -= type.numItems();
 		modified();
 	}
@@ -659,7 +735,7 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 		int needed = getAmount();
 		int found = 0;
 		for (ItemStack item : items) {
-			if (item != null && new ItemType(item).isSimilar(this)) {
+			if (item != null && isSimilar(item)) {
 				found += item.getAmount();
 				if (found >= needed) {
 					if (!all)
@@ -677,7 +753,7 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 		int needed = getAmount();
 		int found = 0;
 		for (ItemStack item : items) {
-			if (item != null && new ItemType(item).isSimilar(this)) {
+			if (item != null && isSimilar(item)) {
 				found += item.getAmount();
 				if (found >= needed) {
 					if (!all)
@@ -789,12 +865,9 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 					 * it to return true for two "same items", even if their
 					 * item meta is completely different.
 					 */
-					ItemData other = is != null ? new ItemData(is) : null;
-					if (other == null) {
-						continue;
-					}
-					boolean plain = d.isPlain() != other.isPlain();
-					if (d.matchPlain(other) || other.matchAlias(d).isAtLeast(plain ? MatchQuality.EXACT : (d.isAlias() && !other.isAlias() ? MatchQuality.SAME_MATERIAL : MatchQuality.SAME_ITEM))) {
+					if (is == null || (is.getType() != d.getType() && !d.isAnything))
+						continue; // Can't match, no need to create an ItemData for it
+					if (matchesAllStacksOfMaterial(d) || matches(d, new ItemData(is))) {
 						if (all && amount == -1) {
 							if (replaceWithNull) {
 								list.set(index, null);
@@ -832,6 +905,11 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 		return ok;
 	}
 
+	private static boolean matches(ItemData type, ItemData other) {
+		boolean plain = type.isPlain() != other.isPlain();
+		return type.matchPlain(other) || other.matchAlias(type).isAtLeast(plain ? MatchQuality.EXACT : (type.isAlias() && !other.isAlias() ? MatchQuality.SAME_MATERIAL : MatchQuality.SAME_ITEM));
+	}
+
 	/**
 	 * Adds this ItemType to the given list, without filling existing stacks.
 	 *
@@ -973,30 +1051,60 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 			return false;
 		for (ItemData myType : getTypes()) {
 			for (ItemData otherType : other.getTypes()) {
-				if (myType.matchPlain(otherType)) {
-					return true;
-				}
-
-				MatchQuality minimumQuality;
-				if (myType.isPlain() != otherType.isPlain()) {
-					minimumQuality = MatchQuality.EXACT;
-				} else if ((otherType.isAlias() && !myType.isAlias())
-						|| (!ItemData.itemDataValues && myType.itemForm && otherType.blockValues != null && !otherType.blockValues.isDefault())) {
-					// First Check: Don't require an EXACT match if the other ItemData is an alias. They only need to share a material.
-					// Second Check: Items (held in inventories) don't have block values, but the other item does (may be an item-block comparison)
-					minimumQuality = MatchQuality.SAME_MATERIAL;
-				} else {
-					minimumQuality = MatchQuality.SAME_ITEM;
-				}
-
-				if (myType.matchAlias(otherType).isAtLeast(minimumQuality)) {
+				if (isSimilar(myType, otherType))
 					return true;
-				}
 			}
 		}
 		return false;
 	}
 
+	/**
+	 * Checks whether the given item stack is similar to this ItemType,
+	 * giving the same result as {@code new ItemType(stack).isSimilar(this)}.
+	 * Unlike that, this doesn't create any objects for stacks that don't share a material with this ItemType,
+	 * or for stacks that only need to share a material with it.
+	 * @param stack The item stack to compare with.
+	 * @return Whether the item stack is similar to this ItemType.
+	 * @see #isSimilar(ItemType)
+	 */
+	public boolean isSimilar(ItemStack stack) {
+		if (isAll()) // An ItemType of a single stack never represents all of its items
+			return false;
+		List<ItemData> candidates = getCandidates(stack.getType());
+		if (candidates.isEmpty())
+			return false;
+		for (ItemData type : candidates) {
+			if (type.getType() == stack.getType() && matchesAllStacksOfMaterial(type))
+				return true;
+		}
+		ItemData stackType = new ItemData(stack);
+		for (ItemData type : candidates) {
+			if (isSimilar(stackType, type))
+				return true;
+		}
+		return false;
+	}
+
+	private static boolean isSimilar(ItemData myType, ItemData otherType) {
+		if (myType.matchPlain(otherType)) {
+			return true;
+		}
+
+		MatchQuality minimumQuality;
+		if (myType.isPlain() != otherType.isPlain()) {
+			minimumQuality = MatchQuality.EXACT;
+		} else if ((otherType.isAlias() && !myType.isAlias())
+				|| (!ItemData.itemDataValues && myType.itemForm && otherType.blockValues != null && !otherType.blockValues.isDefault())) {
+			// First Check: Don't require an EXACT match if the other ItemData is an alias. They only need to share a material.
+			// Second Check: Items (held in inventories) don't have block values, but the other item does (may be an item-block comparison)
+			minimumQuality = MatchQuality.SAME_MATERIAL;
+		} else {
+			minimumQuality = MatchQuality.SAME_ITEM;
+		}
+
+		return myType.matchAlias(otherType).isAtLeast(minimumQuality);
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -1107,6 +1215,7 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	@Override
 	public void deserialize(final Fields fields) throws StreamCorruptedException, NotSerializableException {
 		fields.setFields(this);
+		materialIndex = null;
 
 		// Legacy data (before aliases rework) update
 		if (!types.isEmpty()) {
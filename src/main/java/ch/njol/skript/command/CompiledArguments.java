@@ -0,0 +1,206 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.command;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.skriptlang.skript.lang.converter.Converter;
+import org.skriptlang.skript.lang.converter.ConverterInfo;
+import org.skriptlang.skript.lang.converter.Converters;
+
+import ch.njol.skript.classes.ClassInfo;
+import ch.njol.skript.classes.Parser;
+import ch.njol.skript.lang.ParseContext;
+import ch.njol.skript.lang.SkriptParser;
+import ch.njol.skript.log.ParseLogHandler;
+import ch.njol.skript.log.SkriptLogger;
+import ch.njol.skript.registrations.Classes;
+import ch.njol.util.StringUtils;
+
+/**
+ * Parses the arguments of a command whose pattern only consists of required, single arguments separated by spaces,
+ * e.g. {@code /pay <player> <number>}, without going through {@link SkriptParser}.
+ * <p>
+ * The arguments are split and parsed like {@link SkriptParser#parseArguments(String, ScriptCommand, ScriptCommandEvent)}
+ * would: each argument but the last takes as few words as possible while the remaining arguments can still be parsed.
+ * The parsers of each argument's type are looked up once, in the order {@link Classes#parse(String, Class, ParseContext)} tries them.
+ * Whenever the result might differ from the generic parser, e.g. for inputs that look like lists, parsing is left to it.
+ */
+final class CompiledArguments {
+
+	private static final Pattern SIMPLE_PATTERN = Pattern.compile("%[^%\\-*~@/\\[\\]()|<>\\\\]+%(?: %[^%\\-*~@/\\[\\]()|<>\\\\]+%)*");
+
+	private final List<Argument<?>> arguments;
+	private final ParserChain[] parsers;
+
+	private CompiledArguments(List<Argument<?>> arguments, ParserChain[] parsers) {
+		this.arguments = arguments;
+		this.parsers = parsers;
+	}
+
+	/**
+	 * @param pattern The pattern of the command, see {@link ScriptCommand#getPattern()}
+	 * @return The compiled arguments, or null if the pattern has literal text, optional arguments or arguments that take lists
+	 */
+	@Nullable
+	static CompiledArguments compile(String pattern, List<Argument<?>> arguments) {
+		if (!(arguments.isEmpty() ? pattern.isEmpty() : SIMPLE_PATTERN.matcher(pattern).matches()))
+			return null;
+		if (StringUtils.count(pattern, '%') != 2 * arguments.size())
+			return null;
+		ParserChain[] parsers = new ParserChain[arguments.size()];
+		for (int i = 0; i < parsers.length; i++) {
+			Argument<?> argument = arguments.get(i);
+			if (argument.isOptional() || !argument.isSingle() || argument.getType() == Object.class)
+				return null;
+			parsers[i] = new ParserChain(argument.getType());
+		}
+		return new CompiledArguments(arguments, parsers);
+	}
+
+	/**
+	 * Parses the given arguments and sets them for the event.
+	 *
+	 * @return False if the arguments are invalid or have to be parsed by {@link SkriptParser}, which will also report errors
+	 */
+	boolean parse(String args, ScriptCommandEvent event) {
+		if (!isSimple(args))
+			return false;
+		Object[][] values = new Object[parsers.length][];
+		ParseLogHandler log = SkriptLogger.startParseLogHandler();
+		try {
+			if (match(args, 0, 0, values) != Match.SUCCESS)
+				return false;
+		} finally {
+			log.clear(); // Errors of failed attempts are reported by SkriptParser if needed
+			log.stop();
+		}
+		for (int i = 0; i < values.length; i++)
+			arguments.get(i).set(event, values[i]);
+		return true;
+	}
+
+	/**
+	 * @return Whether the words of the given arguments are separated by single spaces,
+	 * as other whitespace is handled in a special way by {@link SkriptParser}.
+	 */
+	private static boolean isSimple(String args) {
+		char previous = ' ';
+		for (int i = 0; i < args.length(); i++) {
+			char c = args.charAt(i);
+			if (c < ' ' || c == ' ' && previous == ' ' || Character.isWhitespace(c) && c != ' ')
+				return false;
+			previous = c;
+		}
+		return previous != ' ' || args.isEmpty();
+	}
+
+	private enum Match {
+		SUCCESS, FAILURE,
+		/**
+		 * The result might differ from SkriptParser's
+		 */
+		UNKNOWN
+	}
+
+	private Match match(String args, int offset, int index, Object[][] values) {
+		if (index == parsers.length)
+			return offset == args.length() ? Match.SUCCESS : Match.FAILURE;
+		if (index == parsers.length - 1) // The last argument takes all remaining words
+			return parse(args.substring(offset), index, values);
+		for (int end = args.indexOf(' ', offset); end != -1; end = args.indexOf(' ', end + 1)) {
+			Match match = parse(args.substring(offset, end), index, values);
+			if (match == Match.SUCCESS)
+				match = match(args, end + 1, index + 1, values);
+			if (match != Match.FAILURE)
+				return match;
+		}
+		return Match.FAILURE;
+	}
+
+	private Match parse(String arg, int index, Object[][] values) {
+		if (arg.isEmpty())
+			return Match.FAILURE;
+		Object value = parsers[index].parse(arg);
+		if (value == null) // SkriptParser would try to parse the argument as an 'or' list
+			return SkriptParser.OR_PATTERN.matcher(arg).find() ? Match.UNKNOWN : Match.FAILURE;
+		Object[] array = (Object[]) Array.newInstance(value.getClass(), 1);
+		array[0] = value;
+		values[index] = array;
+		return Match.SUCCESS;
+	}
+
+	/**
+	 * The parsers {@link Classes#parse(String, Class, ParseContext)} uses for a type in a command,
+	 * each followed by the converter for its result if needed.
+	 */
+	private static final class ParserChain {
+
+		private final Parser<?>[] parsers;
+		private final @Nullable Converter<?, ?>[] converters;
+
+		ParserChain(Class<?> type) {
+			List<Parser<?>> parsers = new ArrayList<>();
+			List<Converter<?, ?>> converters = new ArrayList<>();
+			addParsers(type, null, parsers, converters);
+			for (ConverterInfo<?, ?> info : Converters.getConverterInfos()) {
+				if ((info.getFlags() & Commands.CONVERTER_NO_COMMAND_ARGUMENTS) == 0 && type.isAssignableFrom(info.getTo()))
+					addParsers(info.getFrom(), info.getConverter(), parsers, converters);
+			}
+			this.parsers = parsers.toArray(new Parser[0]);
+			this.converters = converters.toArray(new Converter[0]);
+		}
+
+		private static void addParsers(Class<?> type, @Nullable Converter<?, ?> converter, List<Parser<?>> parsers, List<Converter<?, ?>> converters) {
+			for (ClassInfo<?> info : Classes.getClassInfos()) {
+				Parser<?> parser = info.getParser();
+				if (parser != null && parser.canParse(ParseContext.COMMAND) && type.isAssignableFrom(info.getC())) {
+					parsers.add(parser);
+					converters.add(converter);
+				}
+			}
+		}
+
+		@Nullable
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		Object parse(String arg) {
+			for (int i = 0; i < parsers.length; i++) {
+				Object value = parsers[i].parse(arg, ParseContext.COMMAND);
+				if (value == null)
+					continue;
+				Converter converter = converters[i];
+				if (converter == null)
+					return value;
+				value = converter.convert(value);
+				if (value != null)
+					return value;
+				// Classes.parse moves on to the next converter, skip the other parsers of this one
+				while (i + 1 < parsers.length && converters[i + 1] == converter)
+					i++;
+			}
+			return null;
+		}
+
+	}
+
+}
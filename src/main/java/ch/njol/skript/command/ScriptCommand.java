@@ -35,6 +35,9 @@ import ch.njol.skript.log.LogEntry;
 import ch.njol.skript.log.ParseLogHandler;
 import ch.njol.skript.log.SkriptLogger;
 import ch.njol.skript.log.Verbosity;
+import ch.njol.skript.metrics.Counter;
+import ch.njol.skript.metrics.Histogram;
+import ch.njol.skript.metrics.SkriptMetrics;
 import ch.njol.skript.util.Date;
 import ch.njol.skript.util.EmptyStacktraceException;
 import ch.njol.skript.util.Timespan;
@@ -107,6 +110,11 @@ public class ScriptCommand implements TabExecutor {
 
 	private final String pattern;
 	private final List<Argument<?>> arguments;
+	@Nullable
+	private final CompiledArguments compiledArguments;
+
+	private final Histogram argumentParseTime;
+	private final Counter argumentParserFallbacks;
 
 	public final static int PLAYERS = 0x1, CONSOLE = 0x2, BOTH = PLAYERS | CONSOLE;
 	final int executableBy;
@@ -215,6 +223,13 @@ public class ScriptCommand implements TabExecutor {
 
 		this.pattern = pattern;
 		this.arguments = arguments;
+		compiledArguments = CompiledArguments.compile(pattern, arguments);
+
+		String label = SkriptMetrics.label("command", name);
+		argumentParseTime = SkriptMetrics.histogram("command_argument_parse_time", label,
+			"Time taken to parse the arguments of a command", "nanoseconds");
+		argumentParserFallbacks = SkriptMetrics.counter("command_argument_parser_fallbacks_total", label,
+			"Command executions whose arguments the compiled parser didn't accept, so they were parsed by the generic parser");
 
 		trigger = new Trigger(script, "command /" + name, new SimpleEvent(), ScriptLoader.loadItems(node));
 		trigger.setLineNumber(node.getLine());
@@ -324,7 +339,7 @@ public class ScriptCommand implements TabExecutor {
 	boolean execute2(final ScriptCommandEvent event, final CommandSender sender, final String commandLabel, final String rest) {
 		final ParseLogHandler log = SkriptLogger.startParseLogHandler();
 		try {
-			final boolean ok = SkriptParser.parseArguments(rest, ScriptCommand.this, event);
+			final boolean ok = parseArguments(rest, event);
 			if (!ok) {
 				final LogEntry e = log.getError();
 				if (e != null)
@@ -350,6 +365,23 @@ public class ScriptCommand implements TabExecutor {
 		return true;
 	}
 
+	/**
+	 * Parses the arguments with the compiled parser if possible, or with {@link SkriptParser} otherwise.
+	 */
+	private boolean parseArguments(String rest, ScriptCommandEvent event) {
+		long start = System.nanoTime();
+		boolean ok;
+		if (compiledArguments != null && compiledArguments.parse(rest, event)) {
+			ok = true;
+		} else {
+			if (compiledArguments != null)
+				argumentParserFallbacks.increment();
+			ok = SkriptParser.parseArguments(rest, this, event);
+		}
+		argumentParseTime.record(System.nanoTime() - start);
+		return ok;
+	}
+
 	public boolean checkPermissions(CommandSender sender, String commandLabel, String arguments) {
 		return checkPermissions(sender, new ScriptCommandEvent(this, sender, commandLabel, arguments));
 	}
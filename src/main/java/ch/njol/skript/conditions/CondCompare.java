@@ -48,6 +48,7 @@ import ch.njol.skript.registrations.Classes;
 
 import org.skriptlang.skript.lang.comparator.Comparators;
 import ch.njol.skript.util.Patterns;
+import ch.njol.skript.util.Pure;
 import ch.njol.skript.util.Utils;
 import ch.njol.util.Checker;
 import ch.njol.util.Kleenean;
@@ -63,7 +64,7 @@ import org.skriptlang.skript.lang.util.Cyclical;
 		"time in the player's world is greater than 8:00",
 		"the creature is not an enderman or an ender dragon"})
 @Since("1.0")
-public class CondCompare extends Condition implements VerboseAssert {
+public class CondCompare extends Condition implements VerboseAssert, Pure {
 	
 	private final static Patterns<Relation> patterns = new Patterns<>(new Object[][]{
 			{"(1¦neither|) %objects% ((is|are)(|2¦(n't| not|4¦ neither)) ((greater|more|higher|bigger|larger) than|above)|\\>) %objects%", Relation.GREATER},
@@ -388,6 +389,18 @@ public class CondCompare extends Condition implements VerboseAssert {
 		), isNegated());
 	}
 
+	@Override
+	public boolean isPure() {
+		if (!Pure.isPure(first, second, third))
+			return false;
+		// The comparator is resolved when parsing only if all types are known, otherwise it is looked up for each value
+		if (third == null)
+			return Pure.isPureComparison(first.getReturnType(), second.getReturnType());
+		return Pure.isPureComparison(first.getReturnType(), Utils.getSuperType(second.getReturnType(), third.getReturnType()))
+			&& Pure.isPureComparison(first.getReturnType(), third.getReturnType())
+			&& Pure.isPureComparison(second.getReturnType(), third.getReturnType());
+	}
+
 	public String getExpectedMessage(Event event) {
 		String message = "a value ";
 		if (third == null)
@@ -29,8 +29,10 @@ import ch.njol.skript.doc.Since;
 import ch.njol.skript.lang.Condition;
 import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.Variable;
 import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.skript.registrations.Comparators;
+import ch.njol.skript.variables.VariableBranch;
 import ch.njol.util.Kleenean;
 import ch.njol.util.StringUtils;
 import org.bukkit.event.Event;
@@ -39,6 +41,8 @@ import org.bukkit.inventory.ItemStack;
 import org.eclipse.jdt.annotation.Nullable;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
 
 @Name("Contains")
@@ -96,6 +100,13 @@ public class CondContains extends Condition {
 	public boolean check(Event e) {
 		CheckType checkType = this.checkType;
 
+		// Look the items up in the list's index if possible, instead of comparing them to all elements
+		if (checkType == CheckType.UNKNOWN && !explicitSingle && containers instanceof Variable && ((Variable<?>) containers).isList()) {
+			Object list = ((Variable<?>) containers).getRaw(e);
+			if (list instanceof VariableBranch && ((VariableBranch) list).isIndexable())
+				return checkIndexed((VariableBranch) list, e);
+		}
+
 		Object[] containerValues = containers.getAll(e);
 
 		if (containerValues.length == 0)
@@ -157,6 +168,23 @@ public class CondContains extends Condition {
 		}
 	}
 	
+	/**
+	 * Checks a list whose elements are all texts, numbers or players, which makes it a non-empty list of objects.
+	 * Items that can't be looked up in the list's index are compared to its elements.
+	 */
+	private boolean checkIndexed(VariableBranch list, Event e) {
+		return items.check(e, o1 -> {
+			Collection<String> indices = list.findIndices(o1);
+			if (indices != null)
+				return !indices.isEmpty();
+			for (Map.Entry<String, Object> element : list.entrySet()) {
+				if (element.getKey() != null && Comparators.compare(o1, element.getValue()) == Relation.EQUAL)
+					return true;
+			}
+			return false;
+		}, isNegated());
+	}
+
 	@Override
 	public String toString(@Nullable Event e, boolean debug) {
 		return containers.toString(e, debug) + (isNegated() ? " doesn't contain " : " contains ") + items.toString(e, debug);
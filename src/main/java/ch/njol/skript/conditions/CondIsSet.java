@@ -32,6 +32,7 @@ import ch.njol.skript.lang.Condition;
 import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.ExpressionList;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.Variable;
 import ch.njol.util.Kleenean;
 
 /**
@@ -73,6 +74,11 @@ public class CondIsSet extends Condition implements VerboseAssert {
 			return expr.getAnd();
 		}
 		assert expr.getAnd();
+		if (expr instanceof Variable) {
+			final int count = ((Variable<?>) expr).count(e, false);
+			if (count != -1)
+				return isNegated() ^ (count != 0);
+		}
 		final Object[] all = expr.getAll(e);
 		return isNegated() ^ (all.length != 0);
 	}
@@ -21,6 +21,7 @@ package ch.njol.skript.effects;
 import java.util.Collections;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.bukkit.Bukkit;
 import org.bukkit.event.Event;
@@ -37,6 +38,7 @@ import ch.njol.skript.lang.Literal;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.Trigger;
 import ch.njol.skript.lang.TriggerItem;
+import ch.njol.skript.metrics.SkriptMetrics;
 import ch.njol.skript.timings.SkriptTimings;
 import ch.njol.skript.util.Timespan;
 import ch.njol.skript.variables.Variables;
@@ -88,9 +90,11 @@ public class Delay extends Effect {
 			// Back up local variables
 			Object localVars = Variables.removeLocals(e);
 			
+			PENDING.incrementAndGet();
 			Bukkit.getScheduler().scheduleSyncDelayedTask(Skript.getInstance(), new Runnable() {
 				@Override
 				public void run() {
+					PENDING.decrementAndGet();
 					if (Skript.debug())
 						Skript.info(getIndentation() + "... continuing after " + (System.nanoTime() - start) / 1000000000. + "s");
 					
@@ -116,6 +120,18 @@ public class Delay extends Effect {
 		return null;
 	}
 
+	/**
+	 * The number of trigger executions waiting to be continued after a {@code wait} effect. Other delays,
+	 * like the ones of {@link IndeterminateDelay} and async effects, aren't included.
+	 */
+	private static final AtomicInteger PENDING = new AtomicInteger();
+
+	static {
+		// Tasks that are cancelled when Skript is disabled never decrement the count
+		SkriptMetrics.gauge("wait_effects_pending", "Trigger executions waiting to be continued after a wait effect",
+			() -> Skript.getInstance().isEnabled() ? PENDING.get() : 0);
+	}
+
 	@SuppressWarnings("null")
 	protected final static Set<Event> delayed = Collections.newSetFromMap(new WeakHashMap<Event, Boolean>());
 
@@ -33,10 +33,12 @@ import ch.njol.util.coll.CollectionUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.eclipse.jdt.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Name("Broadcast")
@@ -71,16 +73,24 @@ public class EffBroadcast extends Effect {
 	
 	@Override
 	public void execute(Event event) {
-		List<CommandSender> receivers = new ArrayList<>();
+		CommandSender[] receivers;
 		if (worlds == null) {
-			receivers.addAll(Bukkit.getOnlinePlayers());
-			receivers.add(Bukkit.getConsoleSender());
+			Collection<? extends Player> players = Bukkit.getOnlinePlayers();
+			receivers = players.toArray(new CommandSender[players.size() + 1]);
+			receivers[players.size()] = Bukkit.getConsoleSender();
 		} else {
-			for (World world : worlds.getArray(event))
-				receivers.addAll(world.getPlayers());
+			World[] worlds = this.worlds.getArray(event);
+			if (worlds.length == 1) {
+				receivers = worlds[0].getPlayers().toArray(new CommandSender[0]);
+			} else {
+				List<CommandSender> players = new ArrayList<>();
+				for (World world : worlds)
+					players.addAll(world.getPlayers());
+				receivers = players.toArray(new CommandSender[0]);
+			}
 		}
 
-		EffMessage.sendMessage(event, getMessages(), receivers.toArray(new CommandSender[0]), null);
+		EffMessage.sendMessage(event, getMessages(), receivers, null);
 	}
 
 	private Expression<?>[] getMessages() {
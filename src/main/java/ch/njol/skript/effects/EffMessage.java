@@ -18,12 +18,10 @@
  */
 package ch.njol.skript.effects;
 
-import java.util.List;
 import java.util.UUID;
 
 import ch.njol.skript.registrations.Classes;
 import ch.njol.skript.util.LiteralUtils;
-import ch.njol.skript.util.chat.MessageComponent;
 import ch.njol.util.coll.CollectionUtils;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -108,40 +106,48 @@ public class EffMessage extends Effect {
 		sendMessage(event, getMessages(), recipients.getArray(event), this.sender != null ? this.sender.getSingle(event) : null);
 	}
 
+	/**
+	 * Sends the given messages to all receivers. Every message is evaluated and rendered at most once
+	 * for players and once for other senders, no matter how many receivers there are.
+	 */
 	public static void sendMessage(Event event, Expression<?>[] messages, CommandSender[] receivers, @Nullable Player sender) {
 		for (Expression<?> message : messages) {
 
 			Object[] messageArray = null;
-			List<MessageComponent> messageComponents = null;
+			BaseComponent[][] components = null; // Rendered once and shared by all player receivers
+			String[] plainMessages = null; // Legacy text for all other receivers
 
 			for (CommandSender receiver : receivers) {
-				if (receiver instanceof Player && message instanceof VariableString) {
-					if (messageComponents == null)
-						messageComponents = ((VariableString) message).getMessageComponents(event);
-				} else {
-					if (messageArray == null)
-						messageArray = message.getArray(event);
-				}
-
 				if (receiver instanceof Player) { // Can use JSON formatting
-					if (message instanceof VariableString) { // Process formatting that is safe
-						sendMessage((Player) receiver, sender,
-							BungeeConverter.convert(messageComponents)
-						);
-					} else if (message instanceof ExprColoured && ((ExprColoured) message).isUnsafeFormat()) { // Manually marked as trusted
-						for (Object object : messageArray) {
-							sendMessage((Player) receiver, sender, BungeeConverter.convert(ChatMessages.parse((String) object)));
-						}
-					} else { // It is just a string, no idea if it comes from a trusted source -> don't parse anything
-						for (Object object : messageArray) {
-							List<MessageComponent> components = ChatMessages.fromParsedString(toString(object));
-							sendMessage((Player) receiver, sender, BungeeConverter.convert(components));
+					if (components == null) {
+						if (message instanceof VariableString) { // Process formatting that is safe
+							components = new BaseComponent[][] {
+								BungeeConverter.convert(((VariableString) message).getMessageComponents(event))
+							};
+						} else {
+							if (messageArray == null)
+								messageArray = message.getArray(event);
+							components = new BaseComponent[messageArray.length][];
+							boolean trusted = message instanceof ExprColoured && ((ExprColoured) message).isUnsafeFormat(); // Manually marked as trusted
+							for (int i = 0; i < messageArray.length; i++) {
+								// If it is just a string, there is no idea if it comes from a trusted source -> don't parse anything
+								components[i] = BungeeConverter.convert(trusted ?
+									ChatMessages.parse((String) messageArray[i]) : ChatMessages.fromParsedString(toString(messageArray[i])));
+							}
 						}
 					}
+					for (BaseComponent[] component : components)
+						sendMessage((Player) receiver, sender, component);
 				} else { // Not a player, send plain text with legacy formatting
-					for (Object object : messageArray) {
-						receiver.sendMessage(toString(object));
+					if (plainMessages == null) {
+						if (messageArray == null)
+							messageArray = message.getArray(event);
+						plainMessages = new String[messageArray.length];
+						for (int i = 0; i < messageArray.length; i++)
+							plainMessages[i] = toString(messageArray[i]);
 					}
+					for (String plainMessage : plainMessages)
+						receiver.sendMessage(plainMessage);
 				}
 			}
 		}
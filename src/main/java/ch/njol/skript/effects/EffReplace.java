@@ -116,7 +116,7 @@ public class EffReplace extends Effect {
 						int slot = entry.getKey();
 						ItemStack itemStack = entry.getValue();
 
-						if (new ItemType(itemStack).isSimilar(needle)) {
+						if (needle.isSimilar(itemStack)) {
 							ItemStack newItemStack = ((ItemType) replacement).getRandom();
 							newItemStack.setAmount(itemStack.getAmount());
 
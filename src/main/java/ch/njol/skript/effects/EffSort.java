@@ -26,7 +26,6 @@ import ch.njol.skript.doc.Keywords;
 import ch.njol.skript.doc.Name;
 import ch.njol.skript.doc.Since;
 import ch.njol.skript.expressions.ExprInput;
-import ch.njol.skript.expressions.ExprSortedList;
 import ch.njol.skript.lang.Effect;
 import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.InputSource;
@@ -35,16 +34,17 @@ import ch.njol.skript.lang.SkriptParser;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.Variable;
 import ch.njol.skript.lang.parser.ParserInstance;
+import ch.njol.skript.util.SortUtils;
 import ch.njol.util.Kleenean;
 import ch.njol.util.Pair;
 import org.bukkit.event.Event;
 import org.eclipse.jdt.annotation.Nullable;
 import org.jetbrains.annotations.UnknownNullability;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
 
 @Name("Sort")
@@ -107,15 +107,15 @@ public class EffSort extends Effect implements InputSource {
 	protected void execute(Event event) {
 		Object[] sorted;
 		if (mappingExpr == null) {
+			sorted = unsortedObjects.stream(event).toArray();
 			try {
-				sorted = unsortedObjects.stream(event)
-					.sorted(ExprSortedList::compare)
-					.toArray();
+				SortUtils.sort(sorted);
 			} catch (IllegalArgumentException | ClassCastException e) {
 				return;
 			}
 		} else {
-			Map<Object, Object> valueToMappedValue = new LinkedHashMap<>();
+			List<Object> values = new ArrayList<>();
+			List<Object> mappedValues = new ArrayList<>();
 			for (Iterator<Pair<String, Object>> it = unsortedObjects.variablesIterator(event); it.hasNext(); ) {
 				Pair<String, Object> pair = it.next();
 				currentIndex = pair.getKey();
@@ -123,13 +123,12 @@ public class EffSort extends Effect implements InputSource {
 				Object mappedValue = mappingExpr.getSingle(event);
 				if (mappedValue == null)
 					return;
-				valueToMappedValue.put(currentValue, mappedValue);
+				values.add(currentValue);
+				mappedValues.add(mappedValue);
 			}
+			sorted = values.toArray();
 			try {
-				sorted = valueToMappedValue.entrySet().stream()
-					.sorted(Map.Entry.comparingByValue(ExprSortedList::compare))
-					.map(Map.Entry::getKey)
-					.toArray();
+				SortUtils.sort(sorted, mappedValues.toArray());
 			} catch (IllegalArgumentException | ClassCastException e) {
 				return;
 			}
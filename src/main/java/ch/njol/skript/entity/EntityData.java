@@ -491,18 +491,9 @@ public abstract class EntityData<E extends Entity> implements SyntaxElement, Ygg
 			return (E[]) list.toArray(new Player[list.size()]);
 		}
 		final List<E> list = new ArrayList<>();
-		if (worlds == null)
-			worlds = Bukkit.getWorlds().toArray(new World[0]);
-		for (final World w : worlds) {
-			for (final E e : w.getEntitiesByClass(type)) {
-				for (final EntityData<?> t : types) {
-					if (t.isInstance(e)) {
-						list.add(e);
-						break;
-					}
-				}
-			}
-		}
+		Iterator<E> iterator = EntityQuery.inWorlds(types, type, worlds);
+		while (iterator.hasNext())
+			list.add(iterator.next());
 		return list.toArray((E[]) Array.newInstance(type, list.size()));
 	}
 
@@ -0,0 +1,215 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.entity;
+
+import ch.njol.skript.Skript;
+import ch.njol.util.coll.iterator.CheckedIterator;
+import ch.njol.util.coll.iterator.CombinedIterator;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.eclipse.jdt.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily evaluated entity queries, which narrow the entities to check by their class and location
+ * before any {@link EntityData} is checked.
+ */
+public final class EntityQuery {
+
+	private EntityQuery() {}
+
+	/**
+	 * If a radius query would cover more chunks than this, the world's loaded chunks are filtered instead,
+	 * as most chunks of such a large area usually aren't loaded.
+	 */
+	private static final int MAX_COVERED_CHUNKS = 1024;
+
+	/**
+	 * Gets the most specific class that all entities matching any of the given entity datas are an instance of.
+	 * @param types The entity datas.
+	 * @param type The class that the entities must be an instance of in any case.
+	 * @return The most specific common class, or the given class if no more specific one can be determined.
+	 */
+	public static Class<? extends Entity> getQueryType(EntityData<?>[] types, Class<? extends Entity> type) {
+		Class<? extends Entity> common = null;
+		for (EntityData<?> data : types) {
+			Class<? extends Entity> dataType = data.getType();
+			if (common == null || dataType.isAssignableFrom(common)) {
+				common = dataType;
+			} else if (!common.isAssignableFrom(dataType)) {
+				return type; // Unrelated classes, finding their common superclass isn't worth it
+			}
+		}
+		if (common == null || !type.isAssignableFrom(common))
+			return type;
+		return common;
+	}
+
+	/**
+	 * Iterates over all entities in the given worlds that match any of the given entity datas.
+	 * The entities of all worlds are collected right away, so that entities moved to another world while iterating
+	 * aren't returned twice. Their entity data is checked while iterating.
+	 * @param types The entity datas to match.
+	 * @param type The class that the entities must be an instance of.
+	 * @param worlds The worlds to search in, or null for all worlds.
+	 * @return An iterator over the matching entities.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E extends Entity> Iterator<E> inWorlds(EntityData<?>[] types, Class<E> type, @Nullable World[] worlds) {
+		Class<? extends Entity> queryType = getQueryType(types, type);
+		List<Iterable<Entity>> entities = new ArrayList<>();
+		for (World world : worlds != null ? Arrays.asList(worlds) : Bukkit.getWorlds())
+			entities.add((Iterable<Entity>) world.getEntitiesByClass(queryType));
+		return (Iterator<E>) new CheckedIterator<>(new CombinedIterator<>(entities.iterator(), false), entity -> matches(types, entity));
+	}
+
+	/**
+	 * Iterates over all entities within the given radius around the given location that match any of the given entity datas.
+	 * Only the loaded chunks that the sphere intersects are searched, and entities are checked by their class
+	 * and distance before the entity datas are checked.
+	 * <p>
+	 * Like {@link World#getNearbyEntities(Location, double, double, double)}, the entities within the sphere's bounding box
+	 * are collected right away, so that entities spawned or moved while iterating aren't returned, or returned twice.
+	 * Their distance and entity data are checked while iterating.
+	 * @param types The entity datas to match.
+	 * @param type The class that the entities must be an instance of.
+	 * @param center The center of the sphere to search in.
+	 * @param radius The radius of the sphere to search in.
+	 * @return An iterator over the matching entities.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E extends Entity> Iterator<E> inRadius(EntityData<?>[] types, Class<E> type, Location center, double radius) {
+		World world = center.getWorld();
+		if (world == null || radius < 0)
+			return Collections.emptyIterator();
+
+		Class<? extends Entity> queryType = getQueryType(types, type);
+		double x = center.getX(), y = center.getY(), z = center.getZ();
+		double radiusSquared = radius * radius * Skript.EPSILON_MULT;
+		Location location = new Location(world, 0, 0, 0); // Reused for all entities, to avoid creating a location for each one
+
+		List<Entity> entities = new ArrayList<>();
+		Iterator<Entity[]> chunks = new ChunkEntitiesIterator(world,
+			floor(x - radius) >> 4, floor(z - radius) >> 4, floor(x + radius) >> 4, floor(z + radius) >> 4);
+		while (chunks.hasNext()) {
+			for (Entity entity : chunks.next()) {
+				if (!queryType.isInstance(entity))
+					continue;
+				entity.getLocation(location);
+				if (Math.abs(location.getX() - x) <= radius && Math.abs(location.getY() - y) <= radius && Math.abs(location.getZ() - z) <= radius)
+					entities.add(entity);
+			}
+		}
+		return (Iterator<E>) new CheckedIterator<>(entities.iterator(), entity -> {
+			if (entity == null)
+				return false;
+			entity.getLocation(location);
+			double dx = location.getX() - x, dy = location.getY() - y, dz = location.getZ() - z;
+			if (dx * dx + dy * dy + dz * dz > radiusSquared)
+				return false;
+			return matches(types, entity);
+		});
+	}
+
+	private static boolean matches(EntityData<?>[] types, @Nullable Entity entity) {
+		for (EntityData<?> data : types) {
+			if (data.isInstance(entity))
+				return true;
+		}
+		return false;
+	}
+
+	private static int floor(double value) {
+		int floor = (int) value;
+		return value < floor ? floor - 1 : floor;
+	}
+
+	/**
+	 * Lazily goes through the loaded chunks of a rectangular area, returning their entities.
+	 */
+	private static final class ChunkEntitiesIterator implements Iterator<Entity[]> {
+
+		private final World world;
+		private final int minX, minZ, maxX, maxZ;
+
+		/**
+		 * The loaded chunks of the world, if the area is too large to check all of its chunks individually.
+		 */
+		@Nullable
+		private final Chunk[] loadedChunks;
+
+		private int index;
+		@Nullable
+		private Chunk next;
+
+		ChunkEntitiesIterator(World world, int minX, int minZ, int maxX, int maxZ) {
+			this.world = world;
+			this.minX = minX;
+			this.minZ = minZ;
+			this.maxX = maxX;
+			this.maxZ = maxZ;
+			long covered = (long) (maxX - minX + 1) * (maxZ - minZ + 1);
+			loadedChunks = covered > MAX_COVERED_CHUNKS ? world.getLoadedChunks() : null;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (next == null) {
+				Chunk[] loadedChunks = this.loadedChunks;
+				if (loadedChunks != null) {
+					if (index >= loadedChunks.length)
+						return false;
+					Chunk chunk = loadedChunks[index++];
+					if (chunk.getX() >= minX && chunk.getX() <= maxX && chunk.getZ() >= minZ && chunk.getZ() <= maxZ)
+						next = chunk;
+				} else {
+					int width = maxX - minX + 1;
+					if (index >= width * (maxZ - minZ + 1))
+						return false;
+					int chunkX = minX + index % width, chunkZ = minZ + index / width;
+					index++;
+					if (world.isChunkLoaded(chunkX, chunkZ))
+						next = world.getChunkAt(chunkX, chunkZ);
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public Entity[] next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			Chunk chunk = next;
+			assert chunk != null;
+			next = null;
+			return chunk.getEntities();
+		}
+
+	}
+
+}
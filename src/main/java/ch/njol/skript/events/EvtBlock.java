@@ -18,6 +18,10 @@
  */
 package ch.njol.skript.events;
 
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
 import org.bukkit.block.data.BlockData;
@@ -36,6 +40,7 @@ import org.bukkit.event.player.PlayerBucketFillEvent;
 import org.eclipse.jdt.annotation.Nullable;
 
 import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptEventHandler;
 import ch.njol.skript.aliases.ItemType;
 import org.skriptlang.skript.lang.comparator.Relation;
 import ch.njol.skript.classes.data.DefaultComparators;
@@ -80,11 +85,25 @@ public class EvtBlock extends SkriptEvent {
 				.examples("on form of snow:", "on form of a mushroom:")
 				.requiredPlugins("Minecraft 1.13+ (BlockData)")
 				.since("1.0, 2.6 (BlockData support)");
+
+			// The materials compared in check(Event)
+			SkriptEventHandler.registerMaterialKey(BlockBreakEvent.class, event -> event.getBlock().getType());
+			SkriptEventHandler.registerMaterialKey(BlockBurnEvent.class, event -> event.getBlock().getType());
+			SkriptEventHandler.registerMaterialKey(BlockPlaceEvent.class, event -> event.getBlock().getType());
+			SkriptEventHandler.registerMaterialKey(BlockFadeEvent.class, event -> event.getBlock().getType());
+			SkriptEventHandler.registerMaterialKey(BlockFormEvent.class, event -> event.getNewState().getType());
+			SkriptEventHandler.registerMaterialKey(PlayerBucketFillEvent.class,
+				event -> event.getBlockClicked().getRelative(event.getBlockFace()).getType());
+			SkriptEventHandler.registerMaterialKey(PlayerBucketEmptyEvent.class,
+				event -> event.getItemStack() == null ? null : event.getItemStack().getType());
 		}
 	}
 	
 	@Nullable
 	private Literal<Object> types;
+
+	@Nullable
+	private Set<Material> materials;
 	
 	private boolean mine = false;
 	
@@ -92,8 +111,37 @@ public class EvtBlock extends SkriptEvent {
 	public boolean init(final Literal<?>[] args, final int matchedPattern, final ParseResult parser) {
 		types = (Literal<Object>) args[0];
 		mine = parser.mark == 1;
+		if (types != null)
+			materials = getMaterials(types.getAll());
 		return true;
 	}
+
+	/**
+	 * @return The materials of the given item types and block datas, or null if they can match any material.
+	 */
+	@Nullable
+	static Set<Material> getMaterials(Object[] types) {
+		Set<Material> materials = EnumSet.noneOf(Material.class);
+		for (Object type : types) {
+			if (type instanceof ItemType) {
+				Set<Material> itemMaterials = ((ItemType) type).getMaterials();
+				if (itemMaterials == null)
+					return null;
+				materials.addAll(itemMaterials);
+			} else if (type instanceof BlockData) {
+				materials.add(((BlockData) type).getMaterial());
+			} else {
+				return null;
+			}
+		}
+		return materials;
+	}
+
+	@Override
+	@Nullable
+	public Set<Material> getMaterialFilter() {
+		return materials;
+	}
 	
 	@SuppressWarnings("null")
 	@Override
@@ -18,6 +18,11 @@
  */
 package ch.njol.skript.events;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.entity.ArmorStand;
 import org.bukkit.entity.Entity;
@@ -35,6 +40,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.skriptlang.skript.lang.comparator.Relation;
 
 import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptEventHandler;
 import ch.njol.skript.aliases.ItemType;
 import ch.njol.skript.bukkitutil.ClickEventTracker;
 import ch.njol.skript.classes.data.DefaultComparators;
@@ -73,6 +79,10 @@ public class EvtClick extends SkriptEvent {
 						"on rightclick on a creeper:",
 						"on click with a sword:")
 				.since("1.0");
+
+		// The clicked block is compared with the type in check(Event)
+		SkriptEventHandler.registerMaterialKey(PlayerInteractEvent.class,
+			event -> event.getClickedBlock() == null ? null : event.getClickedBlock().getType());
 	}
 
 	/**
@@ -92,6 +102,12 @@ public class EvtClick extends SkriptEvent {
 	 */
 	private int click = ANY;
 
+	/**
+	 * Materials of clicked blocks that {@link #type} can match, or null if not filtered by block type.
+	 */
+	@Nullable
+	private Set<Material> materials;
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public boolean init(Literal<?>[] args, int matchedPattern, ParseResult parseResult) {
@@ -117,9 +133,33 @@ public class EvtClick extends SkriptEvent {
 			}
 		}
 		tools = (Literal<ItemType>) args[1 - matchedPattern];
+		if (type != null)
+			materials = getMaterials(type);
 		return true;
 	}
 
+	@Nullable
+	private static Set<Material> getMaterials(Literal<?> type) {
+		if (EntityData.class.isAssignableFrom(type.getReturnType()))
+			return Collections.emptySet(); // Entities are never clicked blocks
+		if (!ItemType.class.isAssignableFrom(type.getReturnType()))
+			return null;
+		Set<Material> materials = EnumSet.noneOf(Material.class);
+		for (Object item : type.getAll()) {
+			Set<Material> itemMaterials = ((ItemType) item).getMaterials();
+			if (itemMaterials == null)
+				return null;
+			materials.addAll(itemMaterials);
+		}
+		return materials;
+	}
+
+	@Override
+	@Nullable
+	public Set<Material> getMaterialFilter() {
+		return materials;
+	}
+
 	@Override
 	public boolean check(Event event) {
 		Block block;
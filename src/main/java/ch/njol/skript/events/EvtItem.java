@@ -18,7 +18,10 @@
  */
 package ch.njol.skript.events;
 
+import java.util.Set;
+
 import io.papermc.paper.event.player.PlayerStonecutterRecipeSelectEvent;
+import org.bukkit.Material;
 import org.bukkit.event.Event;
 import org.bukkit.event.block.BlockDispenseEvent;
 import org.bukkit.event.entity.EntityDropItemEvent;
@@ -39,6 +42,7 @@ import org.eclipse.jdt.annotation.Nullable;
 
 import ch.njol.skript.sections.EffSecSpawn;
 import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptEventHandler;
 import ch.njol.skript.aliases.ItemType;
 import ch.njol.skript.lang.Literal;
 import ch.njol.skript.lang.SkriptEvent;
@@ -143,10 +147,27 @@ public class EvtItem extends SkriptEvent {
 					.since("2.8.0")
 					.requiredPlugins("Paper 1.16+");
 		}
+
+		// The same items check(Event) compares, except for item spawns, which have to be checked to update the last spawned item
+		SkriptEventHandler.registerMaterialKey(BlockDispenseEvent.class, event -> event.getItem().getType());
+		SkriptEventHandler.registerMaterialKey(PlayerDropItemEvent.class, event -> event.getItemDrop().getItemStack().getType());
+		SkriptEventHandler.registerMaterialKey(EntityDropItemEvent.class, event -> event.getItemDrop().getItemStack().getType());
+		SkriptEventHandler.registerMaterialKey(CraftItemEvent.class, event -> event.getRecipe().getResult().getType());
+		SkriptEventHandler.registerMaterialKey(PlayerPickupItemEvent.class, event -> event.getItem().getItemStack().getType());
+		if (hasEntityPickupItemEvent)
+			SkriptEventHandler.registerMaterialKey(EntityPickupItemEvent.class, event -> event.getItem().getItemStack().getType());
+		if (hasConsumeEvent)
+			SkriptEventHandler.registerMaterialKey(PlayerItemConsumeEvent.class, event -> event.getItem().getType());
+		SkriptEventHandler.registerMaterialKey(ItemDespawnEvent.class, event -> event.getEntity().getItemStack().getType());
+		SkriptEventHandler.registerMaterialKey(ItemMergeEvent.class, event -> event.getTarget().getItemStack().getType());
 	}
 	
 	@Nullable
 	private Literal<ItemType> types;
+
+	@Nullable
+	private Set<Material> materials;
+
 	private boolean entity;
 
 	@Override
@@ -154,9 +175,17 @@ public class EvtItem extends SkriptEvent {
 	public boolean init(final Literal<?>[] args, final int matchedPattern, final ParseResult parser) {
 		types = (Literal<ItemType>) args[0];
 		entity = parser.mark == 1;
+		if (types != null)
+			materials = EvtBlock.getMaterials(types.getAll());
 		return true;
 	}
 
+	@Override
+	@Nullable
+	public Set<Material> getMaterialFilter() {
+		return materials;
+	}
+
 	@Override
 	@SuppressWarnings("null")
 	public boolean check(final Event event) {
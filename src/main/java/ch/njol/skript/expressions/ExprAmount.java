@@ -56,8 +56,7 @@ import java.util.Map;
 		"  └──── {list::3}: 6",
 		"</pre>",
 		"",
-		"Where using %size of {list::*}% will only return 3 (the first layer of indices only), while %recursive size of {list::*}% will return 6 (the entire list)",
-		"Please note that getting a list's recursive size can cause lag if the list is large, so only use this expression if you need to!"})
+		"Where using %size of {list::*}% will only return 3 (the first layer of indices only), while %recursive size of {list::*}% will return 6 (the entire list)"})
 @Examples({"message \"There are %number of all players% players online!\""})
 @Since("1.0")
 public class ExprAmount extends SimpleExpression<Long> {
@@ -99,6 +98,11 @@ public class ExprAmount extends SimpleExpression<Long> {
 		if (recursive) {
 			int currentSize = 0;
 			for (Expression<?> expr : exprs.getExpressions()) {
+				int count = ((Variable<?>) expr).count(e, true);
+				if (count != -1) {
+					currentSize += count;
+					continue;
+				}
 				Object var = ((Variable<?>) expr).getRaw(e);
 				if (var != null) { // Should already be a map
 					currentSize += getRecursiveSize((Map<String, ?>) var);
@@ -106,6 +110,17 @@ public class ExprAmount extends SimpleExpression<Long> {
 			}
 			return new Long[]{(long) currentSize};
 		}
+		if (exprs.getAnd() || exprs.getExpressions().length == 1) {
+			// Count list variables without getting their values
+			long size = 0;
+			for (Expression<?> expr : exprs.getExpressions()) {
+				int count = expr instanceof Variable<?> ? ((Variable<?>) expr).count(e, false) : -1;
+				if (count == -1)
+					count = exprs.getAnd() ? expr.getAll(e).length : expr.getArray(e).length;
+				size += count;
+			}
+			return new Long[]{size};
+		}
 		return new Long[]{(long) exprs.getArray(e).length};
 	}
 
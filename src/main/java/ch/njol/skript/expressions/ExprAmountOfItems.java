@@ -65,7 +65,7 @@ public class ExprAmountOfItems extends SimpleExpression<Long> {
 			itemsLoop: for (ItemStack itemStack : inventory.getContents()) {
 				if (itemStack != null) {
 					for (ItemType itemType : itemTypes) {
-						if (new ItemType(itemStack).isSimilar(itemType)) {
+						if (itemType.isSimilar(itemStack)) {
 							amount += itemStack.getAmount();
 							continue itemsLoop;
 						}
@@ -38,7 +38,6 @@ import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.skript.util.BlockSphereIterator;
 import ch.njol.util.Kleenean;
 import ch.njol.util.coll.iterator.EmptyIterator;
-import ch.njol.util.coll.iterator.IteratorIterable;
 
 /**
  * @author Peter Güttinger
@@ -84,8 +83,9 @@ public class ExprBlockSphere extends SimpleExpression<Block> {
 		if (r == null)
 			return new Block[0];
 		final ArrayList<Block> list = new ArrayList<>((int) (1.1 * 4 / 3. * Math.PI * Math.pow(r.doubleValue(), 3)));
-		for (final Block b : new IteratorIterable<>(iterator(e)))
-			list.add(b);
+		final Iterator<Block> iter = iterator(e);
+		while (iter.hasNext())
+			list.add(iter.next());
 		return list.toArray(new Block[list.size()]);
 	}
 	
@@ -42,7 +42,6 @@ import ch.njol.skript.util.BlockLineIterator;
 import ch.njol.skript.util.Direction;
 import ch.njol.util.Kleenean;
 import ch.njol.util.coll.iterator.ArrayIterator;
-import ch.njol.util.coll.iterator.IteratorIterable;
 
 /**
  * @author Peter Güttinger
@@ -126,8 +125,8 @@ public class ExprBlocks extends SimpleExpression<Block> {
 		final Iterator<Block> iter = iterator(e);
 		if (iter == null)
 			return new Block[0];
-		for (final Block b : new IteratorIterable<>(iter))
-			r.add(b);
+		while (iter.hasNext())
+			r.add(iter.next());
 		return r.toArray(new Block[r.size()]);
 	}
 	
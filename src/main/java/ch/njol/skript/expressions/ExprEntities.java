@@ -24,6 +24,7 @@ import ch.njol.skript.doc.Examples;
 import ch.njol.skript.doc.Name;
 import ch.njol.skript.doc.Since;
 import ch.njol.skript.entity.EntityData;
+import ch.njol.skript.entity.EntityQuery;
 import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.ExpressionType;
 import ch.njol.skript.lang.Literal;
@@ -33,7 +34,6 @@ import ch.njol.skript.log.BlockingLogHandler;
 import ch.njol.skript.log.LogHandler;
 import ch.njol.util.Kleenean;
 import ch.njol.util.StringUtils;
-import ch.njol.util.coll.iterator.CheckedIterator;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -45,7 +45,6 @@ import org.eclipse.jdt.annotation.Nullable;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 
@@ -168,21 +167,12 @@ public class ExprEntities extends SimpleExpression<Entity> {
 			if (l.getWorld() == null) // safety
 				return null;
 
-			Collection<Entity> es = l.getWorld().getNearbyEntities(l, d, d, d);
-			double radiusSquared = d * d * Skript.EPSILON_MULT;
-			EntityData<?>[] ts = types.getAll(e);
-			return new CheckedIterator<>(es.iterator(), e1 -> {
-					if (e1 == null || e1.getLocation().distanceSquared(l) > radiusSquared)
-						return false;
-					for (EntityData<?> t : ts) {
-						if (t.isInstance(e1))
-							return true;
-					}
-					return false;
-				});
+			return EntityQuery.inRadius(types.getAll(e), returnType, l, d);
 		} else {
-			if (chunks == null || returnType == Player.class)
+			if (returnType == Player.class)
 				return super.iterator(e);
+			if (chunks == null)
+				return EntityQuery.inWorlds(types.getAll(e), returnType, worlds != null ? worlds.getArray(e) : null);
 
 			return Arrays.stream(EntityData.getAll(types.getArray(e), returnType, chunks.getArray(e))).iterator();
 		}
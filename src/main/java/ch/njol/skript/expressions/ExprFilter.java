@@ -30,8 +30,11 @@ import ch.njol.skript.lang.ExpressionType;
 import ch.njol.skript.lang.Literal;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.util.SimpleExpression;
+import ch.njol.skript.metrics.Counter;
+import ch.njol.skript.metrics.SkriptMetrics;
 import ch.njol.skript.registrations.Converters;
 import ch.njol.skript.util.LiteralUtils;
+import ch.njol.skript.util.Pure;
 import ch.njol.skript.util.Utils;
 import ch.njol.util.Kleenean;
 import ch.njol.util.coll.iterator.ArrayIterator;
@@ -42,6 +45,7 @@ import org.eclipse.jdt.annotation.Nullable;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -55,6 +59,9 @@ import java.util.regex.Pattern;
 @SuppressWarnings({"null", "unchecked"})
 public class ExprFilter extends SimpleExpression<Object> {
 
+	private static final Counter PARALLEL_FILTERS = SkriptMetrics.counter("parallel_list_evaluations_total",
+		SkriptMetrics.label("expression", "filter"), "Lists whose elements were filtered or mapped in parallel");
+
 	@Nullable
 	private static ExprFilter parsing;
 
@@ -64,6 +71,12 @@ public class ExprFilter extends SimpleExpression<Object> {
 	}
 
 	private Object current;
+	/**
+	 * The current value of each thread while the condition is checked in parallel
+	 */
+	private final ThreadLocal<Object> parallelCurrent = new ThreadLocal<>();
+	private volatile boolean parallel;
+	private boolean pure;
 	private List<ExprInput<?>> children = new ArrayList<>();
 	private Condition condition;
 	private String rawCond;
@@ -86,14 +99,20 @@ public class ExprFilter extends SimpleExpression<Object> {
 		} finally {
 			parsing = null;
 		}
-		return condition != null && LiteralUtils.canInitSafely(objects);
+		if (condition == null)
+			return false;
+		pure = Pure.isPure(condition);
+		return LiteralUtils.canInitSafely(objects);
 	}
 
 	@NonNull
 	@Override
 	public Iterator<?> iterator(Event e) {
+		Object[] values = this.objects.getArray(e);
+		if (pure && Pure.isParallelizable(values))
+			return new ArrayIterator<>(filterParallel(values, e));
 		try {
-			return Iterators.filter(new ArrayIterator<>(this.objects.getArray(e)), object -> {
+			return Iterators.filter(new ArrayIterator<>(values), object -> {
 				current = object;
 				return condition.check(e);
 			});
@@ -102,6 +121,26 @@ public class ExprFilter extends SimpleExpression<Object> {
 		}
 	}
 
+	/**
+	 * Checks the pure condition for all values in parallel, keeping their order.
+	 */
+	private Object[] filterParallel(Object[] values, Event e) {
+		PARALLEL_FILTERS.increment();
+		parallel = true;
+		try {
+			return Arrays.stream(values).parallel().filter(object -> {
+				parallelCurrent.set(object);
+				try {
+					return condition.check(e);
+				} finally {
+					parallelCurrent.remove();
+				}
+			}).toArray();
+		} finally {
+			parallel = false;
+		}
+	}
+
 	@Override
 	protected Object[] get(Event e) {
 		try {
@@ -112,7 +151,7 @@ public class ExprFilter extends SimpleExpression<Object> {
 	}
 
 	public Object getCurrent() {
-		return current;
+		return parallel ? parallelCurrent.get() : current;
 	}
 
 	private void addChild(ExprInput<?> child) {
@@ -158,7 +197,7 @@ public class ExprFilter extends SimpleExpression<Object> {
 			"the condition would be checked twice, using \"something\" and \"something else\" as the inputs.")
 	@Examples("send \"congrats on being staff!\" to all players where [input has permission \"staff\"]")
 	@Since("2.2-dev36")
-	public static class ExprInput<T> extends SimpleExpression<T> {
+	public static class ExprInput<T> extends SimpleExpression<T> implements Pure {
 
 		static {
 			Skript.registerExpression(ExprInput.class, Object.class, ExpressionType.COMBINED,
@@ -243,6 +282,16 @@ public class ExprFilter extends SimpleExpression<Object> {
 			return inputType;
 		}
 
+		@Override
+		public boolean isPure() {
+			// Only pure if converting the input to the types the condition needs is
+			for (Class<? extends T> type : types) {
+				if (!Pure.isPureConversion(type))
+					return false;
+			}
+			return true;
+		}
+
 		@Override
 		public boolean isSingle() {
 			return true;
@@ -33,6 +33,7 @@ import ch.njol.skript.lang.SkriptParser;
 import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.skript.registrations.DefaultClasses;
 import ch.njol.skript.util.ClassInfoReference;
+import ch.njol.skript.util.Pure;
 import ch.njol.skript.util.Utils;
 import ch.njol.util.Kleenean;
 import org.bukkit.event.Event;
@@ -54,7 +55,7 @@ import java.util.Set;
 	"sort {_list::*} based on length of input index"
 })
 @Since("2.2-dev36, 2.9.0 (input index)")
-public class ExprInput<T> extends SimpleExpression<T> {
+public class ExprInput<T> extends SimpleExpression<T> implements Pure {
 
 	static {
 		Skript.registerExpression(ExprInput.class, Object.class, ExpressionType.COMBINED,
@@ -159,6 +160,18 @@ public class ExprInput<T> extends SimpleExpression<T> {
 		return specifiedType;
 	}
 
+	/**
+	 * Converting the input might not be pure, e.g. getting the world with the input as its name.
+	 */
+	@Override
+	public boolean isPure() {
+		for (Class<? extends T> type : types) {
+			if (!Pure.isPureConversion(type))
+				return false;
+		}
+		return true;
+	}
+
 
 	@Override
 	public String toString(Event event, boolean debug) {
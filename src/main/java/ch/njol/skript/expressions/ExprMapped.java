@@ -0,0 +1,171 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.expressions;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.ExpressionType;
+import ch.njol.skript.lang.InputSource;
+import ch.njol.skript.lang.ParseContext;
+import ch.njol.skript.lang.SkriptParser;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.parser.ParserInstance;
+import ch.njol.skript.lang.util.SimpleExpression;
+import ch.njol.skript.metrics.Counter;
+import ch.njol.skript.metrics.SkriptMetrics;
+import ch.njol.skript.util.LiteralUtils;
+import ch.njol.skript.util.Pure;
+import ch.njol.util.Kleenean;
+import org.bukkit.event.Event;
+import org.eclipse.jdt.annotation.Nullable;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Name("Mapped List")
+@Description({
+	"Evaluates the given expression for each element of a list, using the element as input, and returns all results.",
+	"Large lists are mapped in parallel if the expression has no side effects, e.g. for arithmetic on numbers."
+})
+@Examples({
+	"set {_doubled::*} to {_numbers::*} mapped using [input * 2]",
+	"send {_names::*} transformed with [\"Hello %input%!\"] to player"
+})
+@Since("INSERT VERSION")
+@SuppressWarnings("unchecked")
+public class ExprMapped extends SimpleExpression<Object> implements InputSource {
+
+	private static final Counter PARALLEL_MAPPINGS = SkriptMetrics.counter("parallel_list_evaluations_total",
+		SkriptMetrics.label("expression", "mapped"), "Lists whose elements were filtered or mapped in parallel");
+
+	static {
+		Skript.registerExpression(ExprMapped.class, Object.class, ExpressionType.COMBINED,
+			"%objects% (mapped|transformed) (using|with) \\[<.+>\\]");
+		if (!ParserInstance.isRegistered(InputData.class))
+			ParserInstance.registerData(InputData.class, InputData::new);
+	}
+
+	private Expression<?> objects;
+	private Expression<?> mappingExpr;
+	private String unparsedExpression;
+	private boolean pure;
+
+	private final Set<ExprInput<?>> dependentInputs = new HashSet<>();
+
+	@Nullable
+	private Object currentValue;
+	/**
+	 * The current value of each thread while mapping in parallel
+	 */
+	private final ThreadLocal<Object> parallelValue = new ThreadLocal<>();
+	private volatile boolean parallel;
+
+	@Override
+	public boolean init(Expression<?>[] expressions, int matchedPattern, Kleenean isDelayed, ParseResult parseResult) {
+		objects = LiteralUtils.defendExpression(expressions[0]);
+		if (objects.isSingle())
+			return false;
+		unparsedExpression = parseResult.regexes.get(0).group();
+		assert unparsedExpression != null;
+		InputData inputData = getParser().getData(InputData.class);
+		InputSource originalSource = inputData.getSource();
+		inputData.setSource(this);
+		Expression<?> mappingExpr = new SkriptParser(unparsedExpression, SkriptParser.PARSE_EXPRESSIONS, ParseContext.DEFAULT)
+			.parseExpression(Object.class);
+		inputData.setSource(originalSource);
+		if (mappingExpr == null)
+			return false;
+		this.mappingExpr = mappingExpr;
+		pure = Pure.isPure(mappingExpr);
+		return LiteralUtils.canInitSafely(objects);
+	}
+
+	@Override
+	protected Object[] get(Event event) {
+		Object[] values = objects.getArray(event);
+		if (pure && Pure.isParallelizable(values))
+			return mapParallel(values, event);
+		List<Object> mapped = new ArrayList<>(values.length);
+		try {
+			for (Object value : values) {
+				currentValue = value;
+				Collections.addAll(mapped, mappingExpr.getArray(event));
+			}
+		} finally {
+			currentValue = null;
+		}
+		return mapped.toArray((Object[]) Array.newInstance(getReturnType(), mapped.size()));
+	}
+
+	/**
+	 * Evaluates the pure mapping expression for all values in parallel, keeping their order.
+	 */
+	private Object[] mapParallel(Object[] values, Event event) {
+		PARALLEL_MAPPINGS.increment();
+		parallel = true;
+		try {
+			return Arrays.stream(values).parallel().flatMap(value -> {
+				parallelValue.set(value);
+				try {
+					return Arrays.stream(mappingExpr.getArray(event));
+				} finally {
+					parallelValue.remove();
+				}
+			}).toArray(length -> (Object[]) Array.newInstance(getReturnType(), length));
+		} finally {
+			parallel = false;
+		}
+	}
+
+	@Override
+	public Set<ExprInput<?>> getDependentInputs() {
+		return dependentInputs;
+	}
+
+	@Override
+	@Nullable
+	public Object getCurrentValue() {
+		return parallel ? parallelValue.get() : currentValue;
+	}
+
+	@Override
+	public boolean isSingle() {
+		return false;
+	}
+
+	@Override
+	public Class<?> getReturnType() {
+		return mappingExpr.getReturnType();
+	}
+
+	@Override
+	public String toString(@Nullable Event event, boolean debug) {
+		return objects.toString(event, debug) + " mapped using [" + mappingExpr.toString(event, debug) + "]";
+	}
+
+}
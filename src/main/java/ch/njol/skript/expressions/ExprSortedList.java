@@ -28,6 +28,7 @@ import ch.njol.skript.lang.ExpressionType;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.skript.util.LiteralUtils;
+import ch.njol.skript.util.SortUtils;
 import ch.njol.util.Kleenean;
 import ch.njol.util.coll.CollectionUtils;
 import org.bukkit.event.Event;
@@ -69,9 +70,9 @@ public class ExprSortedList extends SimpleExpression<Object> {
 	@Nullable
 	protected Object[] get(Event event) {
 		try {
-			return list.stream(event)
-					.sorted(ExprSortedList::compare)
-					.toArray();
+			Object[] sorted = list.stream(event).toArray();
+			SortUtils.sort(sorted);
+			return sorted;
 		} catch (IllegalArgumentException | ClassCastException e) {
 			return (Object[]) Array.newInstance(getReturnType(), 0);
 		}
@@ -37,6 +37,7 @@ import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.skript.lang.util.SimpleLiteral;
 import ch.njol.skript.util.Patterns;
+import ch.njol.skript.util.Pure;
 import ch.njol.util.Kleenean;
 
 /**
@@ -50,7 +51,7 @@ import ch.njol.util.Kleenean;
 		"message \"You have %health of player * 2% half hearts of HP!\""})
 @Since("1.4.2")
 @SuppressWarnings("null")
-public class ExprArithmetic extends SimpleExpression<Number> {
+public class ExprArithmetic extends SimpleExpression<Number> implements Pure {
 	
 	private static final Class<?>[] INTEGER_CLASSES = {Long.class, Integer.class, Short.class, Byte.class};
 	
@@ -177,6 +178,15 @@ public class ExprArithmetic extends SimpleExpression<Number> {
 	public boolean isSingle() {
 		return true;
 	}
+
+	@Override
+	public boolean isPure() {
+		for (Object element : chain) {
+			if (element instanceof Expression && !Pure.isPure(element))
+				return false;
+		}
+		return true;
+	}
 	
 	@Override
 	public String toString(final @Nullable Event e, final boolean debug) {
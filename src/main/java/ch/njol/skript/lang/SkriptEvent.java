@@ -27,6 +27,7 @@ import ch.njol.skript.events.EvtClick;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.structures.StructEvent.EventData;
 import ch.njol.skript.util.Utils;
+import org.bukkit.Material;
 import org.bukkit.event.Cancellable;
 import org.bukkit.event.Event;
 import org.bukkit.event.EventPriority;
@@ -37,6 +38,7 @@ import org.skriptlang.skript.lang.structure.Structure;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 /**
  * A SkriptEvent is like a condition. It is called when any of the registered events occurs.
@@ -149,6 +151,7 @@ public abstract class SkriptEvent extends Structure {
 			Script script = getParser().getCurrentScript();
 
 			trigger = new Trigger(script, expr, this, items);
+			trigger.liftGuards(); // Leading conditions are checked before the trigger is executed
 			int lineNumber = source.getLine();
 			trigger.setLineNumber(lineNumber); // Set line number for debugging
 			trigger.setDebugLabel(script + ": line " + lineNumber);
@@ -246,6 +249,18 @@ public abstract class SkriptEvent extends Structure {
 		return supportsListeningBehavior;
 	}
 
+	/**
+	 * Override this method to let {@link SkriptEventHandler} skip this event's trigger for events about other materials,
+	 * without calling {@link #check(Event)}. The material of an event is given by the function
+	 * {@link SkriptEventHandler#registerMaterialKey(Class, java.util.function.Function) registered} for its class,
+	 * events of classes without one are always checked.
+	 * @return All materials for which {@link #check(Event)} can return true, or null to check all events.
+	 */
+	@Nullable
+	public Set<Material> getMaterialFilter() {
+		return null;
+	}
+
 	/**
 	 * Override this method to allow Skript to not force synchronization.
 	 */
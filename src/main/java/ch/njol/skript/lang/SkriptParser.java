@@ -39,7 +39,7 @@ import ch.njol.skript.log.LogEntry;
 import ch.njol.skript.log.ParseLogHandler;
 import ch.njol.skript.log.SkriptLogger;
 import ch.njol.skript.patterns.MalformedPatternException;
-import ch.njol.skript.patterns.PatternCompiler;
+import ch.njol.skript.patterns.PatternCache;
 import ch.njol.skript.patterns.SkriptPattern;
 import ch.njol.skript.patterns.TypePatternElement;
 import ch.njol.skript.registrations.Classes;
@@ -384,7 +384,7 @@ public class SkriptParser {
 						return convertedExpression;
 					}
 					// Print errors, if we couldn't get the correct type
-					log.printError(parsedExpression.toString(null, false) + " " + Language.get("is") + " " + notOfType(types), ErrorQuality.NOT_AN_EXPRESSION);
+					log.printError(() -> parsedExpression.toString(null, false) + " " + Language.get("is") + " " + notOfType(types), ErrorQuality.NOT_AN_EXPRESSION);
 					return null;
 				}
 				log.clear();
@@ -574,7 +574,7 @@ public class SkriptParser {
 					}
 
 					// Print errors, if we couldn't get the correct type
-					log.printError(parsedExpression.toString(null, false) + " " + Language.get("is") + " " + notOfType(types), ErrorQuality.NOT_AN_EXPRESSION);
+					log.printError(() -> parsedExpression.toString(null, false) + " " + Language.get("is") + " " + notOfType(types), ErrorQuality.NOT_AN_EXPRESSION);
 					return null;
 				}
 				log.clear();
@@ -1319,7 +1319,7 @@ public class SkriptParser {
 
 	@Nullable
 	private ParseResult parse_i(String pattern) {
-		SkriptPattern skriptPattern = patterns.computeIfAbsent(pattern, PatternCompiler::compile);
+		SkriptPattern skriptPattern = patterns.computeIfAbsent(pattern, PatternCache::get);
 		ch.njol.skript.patterns.MatchResult matchResult = skriptPattern.match(expr, flags, context);
 		if (matchResult == null)
 			return null;
@@ -19,22 +19,38 @@
 package ch.njol.skript.lang;
 
 import org.skriptlang.skript.lang.script.Script;
+import ch.njol.skript.Skript;
+import ch.njol.skript.metrics.Counter;
+import ch.njol.skript.metrics.SkriptMetrics;
 import ch.njol.skript.variables.Variables;
 import org.bukkit.event.Event;
 import org.eclipse.jdt.annotation.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 public class Trigger extends TriggerSection {
 
+	private static final Condition[] NO_GUARDS = new Condition[0];
+
+	private static final Counter GUARD_REJECTIONS = SkriptMetrics.counter("trigger_guard_rejections_total",
+		"Trigger executions skipped because a leading condition failed");
+
 	private final String name;
 	private final SkriptEvent event;
 
 	@Nullable
 	private final Script script;
-	private int line = -1; // -1 is default: it means there is no line number available
 	private String debugLabel;
 
+	/**
+	 * Conditions lifted from the start of this trigger, see {@link #liftGuards()}.
+	 */
+	private Condition[] guards = NO_GUARDS;
+	private final LongAdder guardRejections = new LongAdder();
+	private final LongAdder budgetOverruns = new LongAdder();
+
 	public Trigger(@Nullable Script script, String name, SkriptEvent event, List<TriggerItem> items) {
 		super(items);
 		this.script = script;
@@ -49,7 +65,18 @@ public class Trigger extends TriggerSection {
 	 * @return false if an exception occurred.
 	 */
 	public boolean execute(Event event) {
-		boolean success = TriggerItem.walk(this, event);
+		return execute(event, true);
+	}
+
+	/**
+	 * Executes this trigger for a certain event.
+	 * @param event The event to execute this Trigger with.
+	 * @param checkGuards Whether to check the {@link #checkGuards(Event) guards} first.
+	 *                    Pass false only if they have been checked for this event already.
+	 * @return false if an exception occurred.
+	 */
+	public boolean execute(Event event, boolean checkGuards) {
+		boolean success = !checkGuards || checkGuards(event) ? TriggerItem.walk(this, event) : true;
 
 		// Clear local variables
 		Variables.removeLocals(event);
@@ -69,6 +96,71 @@ public class Trigger extends TriggerSection {
 		return success;
 	}
 
+	/**
+	 * Moves the conditions this trigger starts with out of its items. They are then checked by {@link #checkGuards(Event)},
+	 * which lets event handlers skip the trigger before doing any work for its execution.
+	 * This must be called at most once, after the trigger has been loaded.
+	 */
+	public void liftGuards() {
+		List<Condition> guards = new ArrayList<>();
+		TriggerItem item = first;
+		while (item instanceof Condition) {
+			guards.add((Condition) item);
+			item = item.getNext();
+		}
+		if (guards.isEmpty())
+			return;
+		this.guards = guards.toArray(NO_GUARDS);
+		first = item;
+		if (item == null)
+			last = null;
+	}
+
+	/**
+	 * Checks the conditions lifted from the start of this trigger.
+	 * @param event The event to check the conditions with.
+	 * @return Whether all conditions passed, i.e. whether the trigger should be walked.
+	 */
+	public boolean checkGuards(Event event) {
+		for (Condition guard : guards) {
+			boolean passed;
+			try {
+				passed = guard.check(event);
+			} catch (Exception ex) {
+				if (ex.getStackTrace().length != 0) // empty exceptions have already been printed
+					Skript.exception(ex, guard);
+				passed = false;
+			}
+			if (!passed) {
+				guardRejections.increment();
+				GUARD_REJECTIONS.increment();
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return How often an execution of this trigger was skipped because a lifted condition failed.
+	 */
+	public long getGuardRejections() {
+		return guardRejections.sum();
+	}
+
+	/**
+	 * Counts a loop of this trigger being postponed to the next tick, see {@link ch.njol.skript.timings.TriggerBudget}.
+	 */
+	public void countBudgetOverrun() {
+		budgetOverruns.increment();
+	}
+
+	/**
+	 * @return How often loops of this trigger were postponed because it ran out of time
+	 */
+	public long getBudgetOverruns() {
+		return budgetOverruns.sum();
+	}
+
 	@Override
 	@Nullable
 	protected TriggerItem walk(Event event) {
@@ -99,22 +191,6 @@ public class Trigger extends TriggerSection {
 		return script;
 	}
 
-	/**
-	 * Sets line number for this trigger's start.
-	 * Only used for debugging.
-	 * @param line Line number
-	 */
-	public void setLineNumber(int line) {
-		this.line  = line;
-	}
-
-	/**
-	 * @return The line number where this trigger starts. This should ONLY be used for debugging!
-	 */
-	public int getLineNumber() {
-		return line;
-	}
-
 	public void setDebugLabel(String label) {
 		this.debugLabel = label;
 	}
@@ -19,6 +19,8 @@
 package ch.njol.skript.lang;
 
 import ch.njol.skript.Skript;
+import ch.njol.skript.timings.TriggerBudget;
+import ch.njol.skript.timings.TriggerProfiler;
 import ch.njol.skript.util.SkriptColor;
 import ch.njol.util.StringUtils;
 import org.bukkit.event.Event;
@@ -41,6 +43,7 @@ public abstract class TriggerItem implements Debuggable {
 	protected TriggerSection parent = null;
 	@Nullable
 	private TriggerItem next = null;
+	private int line = -1; // -1 is default: it means there is no line number available
 
 	protected TriggerItem() {}
 
@@ -83,9 +86,22 @@ public abstract class TriggerItem implements Debuggable {
 	 */
 	public static boolean walk(TriggerItem start, Event event) {
 		TriggerItem triggerItem = start;
+		boolean profile = TriggerProfiler.isProfiling();
+		if (profile)
+			TriggerProfiler.enter();
+		boolean budgeted = TriggerBudget.isTracking();
+		if (budgeted)
+			TriggerBudget.enter();
 		try {
-			while (triggerItem != null)
-				triggerItem = triggerItem.walk(event);
+			if (profile) {
+				while (triggerItem != null) {
+					TriggerProfiler.step(triggerItem);
+					triggerItem = triggerItem.walk(event);
+				}
+			} else {
+				while (triggerItem != null)
+					triggerItem = triggerItem.walk(event);
+			}
 
 			return true;
 		} catch (StackOverflowError err) {
@@ -109,6 +125,11 @@ public abstract class TriggerItem implements Debuggable {
 			// not all Throwables are Exceptions, but we usually don't want to catch them (without rethrowing)
 			Skript.markErrored();
 			throw throwable;
+		} finally {
+			if (profile)
+				TriggerProfiler.exit();
+			if (budgeted)
+				TriggerBudget.exit();
 		}
 		return false;
 	}
@@ -164,6 +185,22 @@ public abstract class TriggerItem implements Debuggable {
 		return (Trigger) triggerItem;
 	}
 
+	/**
+	 * Sets the line number this item starts at.
+	 * Only used for debugging and profiling.
+	 * @param line Line number
+	 */
+	public void setLineNumber(int line) {
+		this.line = line;
+	}
+
+	/**
+	 * @return The line number this item starts at, or -1 if unknown. This should ONLY be used for debugging!
+	 */
+	public int getLineNumber() {
+		return line;
+	}
+
 	public TriggerItem setNext(@Nullable TriggerItem next) {
 		this.next = next;
 		return this;
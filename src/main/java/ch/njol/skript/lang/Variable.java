@@ -21,6 +21,7 @@ package ch.njol.skript.lang;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -46,6 +47,7 @@ import ch.njol.skript.structures.StructVariables.DefaultVariables;
 import ch.njol.skript.util.StringMode;
 import ch.njol.skript.util.Utils;
 import ch.njol.skript.variables.TypeHints;
+import ch.njol.skript.variables.VariableBranch;
 import ch.njol.skript.variables.Variables;
 import ch.njol.util.Checker;
 import ch.njol.util.Kleenean;
@@ -332,6 +334,25 @@ public class Variable<T> implements Expression<T> {
 		return null;
 	}
 
+	/**
+	 * Counts the values of this list variable using the counts its branch keeps, instead of getting all values.
+	 * This is only possible if the values don't need to be converted, which could drop some of them.
+	 *
+	 * @param recursive Whether to count the values of all sublists too, including the values of the sublists themselves
+	 * @return The number of values, or -1 if they need to be counted by getting them
+	 */
+	public int count(Event event, boolean recursive) {
+		if (!list || !recursive && !CollectionUtils.contains(types, Object.class))
+			return -1;
+		Object rawValue = getRaw(event);
+		if (rawValue == null)
+			return 0;
+		if (!(rawValue instanceof VariableBranch))
+			return -1;
+		VariableBranch branch = (VariableBranch) rawValue;
+		return recursive ? branch.getRecursiveSize() : branch.getElementCount();
+	}
+
 	@Nullable
 	@SuppressWarnings("unchecked")
 	private Object get(Event event) {
@@ -374,6 +395,37 @@ public class Variable<T> implements Expression<T> {
 		return object;
 	}
 
+	/**
+	 * @param list The raw value of a list variable
+	 * @return An iterator over the elements of the list that is safe if the list is modified while iterating
+	 */
+	@SuppressWarnings("unchecked")
+	private static Iterator<Entry<String, Object>> elementIterator(Object list) {
+		if (list instanceof VariableBranch)
+			return ((VariableBranch) list).elementIterator();
+		// temporary list to prevent CMEs
+		List<Entry<String, Object>> elements = new ArrayList<>(((Map<String, Object>) list).entrySet());
+		elements.removeIf(element -> element.getKey() == null);
+		return elements.iterator();
+	}
+
+	/**
+	 * @param list The raw value of the list variable the element is from
+	 * @return The value of a list element, which is the value of the variable with the element's name if it is a list itself
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private Object getElementValue(Object list, String name, String key, Event event, @Nullable Object value) {
+		// The list was deleted or replaced while iterating it, so the element may have changed as well
+		if (list instanceof VariableBranch && ((VariableBranch) list).isDetached())
+			value = Variables.getVariable(name + key, event, local);
+		if (value instanceof Map)
+			value = ((Map<String, ?>) value).get(null);
+		if (value instanceof Player)
+			value = convertIfOldPlayer(name + key, event, value);
+		return value;
+	}
+
 	public Iterator<Pair<String, Object>> variablesIterator(Event event) {
 		if (!list)
 			throw new SkriptAPIException("Looping a non-list variable");
@@ -382,9 +434,7 @@ public class Variable<T> implements Expression<T> {
 		if (val == null)
 			return new EmptyIterator<>();
 		assert val instanceof TreeMap;
-		// temporary list to prevent CMEs
-		@SuppressWarnings("unchecked")
-		Iterator<String> keys = new ArrayList<>(((Map<String, Object>) val).keySet()).iterator();
+		Iterator<Entry<String, Object>> elements = elementIterator(val);
 		return new Iterator<Pair<String, Object>>() {
 			@Nullable
 			private String key;
@@ -395,13 +445,12 @@ public class Variable<T> implements Expression<T> {
 			public boolean hasNext() {
 				if (next != null)
 					return true;
-				while (keys.hasNext()) {
-					key = keys.next();
-					if (key != null) {
-						next = convertIfOldPlayer(name + key, event, Variables.getVariable(name + key, event, local));
-						if (next != null && !(next instanceof TreeMap))
-							return true;
-					}
+				while (elements.hasNext()) {
+					Entry<String, Object> element = elements.next();
+					key = element.getKey();
+					next = getElementValue(val, name, key, event, element.getValue());
+					if (next != null)
+						return true;
 				}
 				next = null;
 				return false;
@@ -436,27 +485,20 @@ public class Variable<T> implements Expression<T> {
 		if (value == null)
 			return new EmptyIterator<>();
 		assert value instanceof TreeMap;
-		// temporary list to prevent CMEs
-		Iterator<String> keys = new ArrayList<>(((Map<String, Object>) value).keySet()).iterator();
+		Iterator<Entry<String, Object>> elements = elementIterator(value);
 		return new Iterator<T>() {
-			@Nullable
-			private String key;
 			@Nullable
 			private T next = null;
 
 			@Override
-			@SuppressWarnings({"unchecked"})
 			public boolean hasNext() {
 				if (next != null)
 					return true;
-				while (keys.hasNext()) {
-					key = keys.next();
-					if (key != null) {
-						next = Converters.convert(Variables.getVariable(name + key, event, local), types);
-						next = (T) convertIfOldPlayer(name + key, event, next);
-						if (next != null && !(next instanceof TreeMap))
-							return true;
-					}
+				while (elements.hasNext()) {
+					Entry<String, Object> element = elements.next();
+					next = Converters.convert(getElementValue(value, name, element.getKey(), event, element.getValue()), types);
+					if (next != null)
+						return true;
 				}
 				next = null;
 				return false;
@@ -514,19 +556,20 @@ public class Variable<T> implements Expression<T> {
 		switch (mode) {
 			case DELETE:
 				if (list) {
-					ArrayList<String> toDelete = new ArrayList<>();
 					Map<String, Object> map = (Map<String, Object>) getRaw(event);
 					if (map == null)
 						return;
-					for (Entry<String, Object> entry : map.entrySet()) {
-						if (entry.getKey() != null){
-							toDelete.add(entry.getKey());
-						}
-					}
-					for (String index : toDelete) {
-						assert index != null;
-						setIndex(event, index, null);
+					// Delete all elements and then the list itself in one go
+					String listName = name.toString(event);
+					String prefix = listName.substring(0, listName.length() - 1);
+					List<String> names = new ArrayList<>(map.size() + 1);
+					for (String index : map.keySet()) {
+						if (index != null)
+							names.add(prefix + index);
 					}
+					names.add(listName);
+					Variables.setVariables(names.toArray(new String[0]), new Object[names.size()], event, local);
+					break;
 				}
 
 				set(event, null);
@@ -534,18 +577,28 @@ public class Variable<T> implements Expression<T> {
 			case SET:
 				assert delta != null;
 				if (list) {
-					set(event, null);
+					// Delete the list and set all new elements in one go
+					String listName = name.toString(event);
+					assert listName.endsWith(SEPARATOR + "*") : listName + "; " + name;
+					String prefix = listName.substring(0, listName.length() - 1);
+					List<String> names = new ArrayList<>(delta.length + 1);
+					List<Object> values = new ArrayList<>(delta.length + 1);
+					names.add(listName);
+					values.add(null);
 					int i = 1;
 					for (Object value : delta) {
 						if (value instanceof Object[]) {
 							for (int j = 0; j < ((Object[]) value).length; j++) {
-								setIndex(event, "" + i + SEPARATOR + (j + 1), ((Object[]) value)[j]);
+								names.add(prefix + i + SEPARATOR + (j + 1));
+								values.add(((Object[]) value)[j]);
 							}
 						} else {
-							setIndex(event, "" + i, value);
+							names.add(prefix + i);
+							values.add(value);
 						}
 						i++;
 					}
+					Variables.setVariables(names.toArray(new String[0]), values.toArray(), event, local);
 				} else if (delta.length > 0) {
 					// if length = 0, likely a failure in casting
 					// (eg, set vector length of {_notvector} to 1, which casts delta to Vector[], resulting in an empty Vector array)
@@ -580,6 +633,12 @@ public class Variable<T> implements Expression<T> {
 							return;
 						ArrayList<String> toRemove = new ArrayList<>(); // prevents CMEs
 						for (Object value : delta) {
+							Collection<String> indices = map instanceof VariableBranch ? ((VariableBranch) map).findIndices(value) : null;
+							if (indices != null) {
+								if (!indices.isEmpty())
+									toRemove.add(indices.iterator().next());
+								continue;
+							}
 							for (Entry<String, Object> entry : map.entrySet()) {
 								if (Relation.EQUAL.isImpliedBy(Comparators.compare(entry.getValue(), value))) {
 									String key = entry.getKey();
@@ -600,10 +659,21 @@ public class Variable<T> implements Expression<T> {
 						if (map == null)
 							return;
 						ArrayList<String> toRemove = new ArrayList<>(); // prevents CMEs
-						for (Entry<String, Object> i : map.entrySet()) {
-							for (Object value : delta) {
-								if (Relation.EQUAL.isImpliedBy(Comparators.compare(i.getValue(), value)))
-									toRemove.add(i.getKey());
+						List<Object> unindexed = new ArrayList<>(delta.length);
+						for (Object value : delta) {
+							Collection<String> indices = map instanceof VariableBranch ? ((VariableBranch) map).findIndices(value) : null;
+							if (indices != null) {
+								toRemove.addAll(indices);
+							} else {
+								unindexed.add(value);
+							}
+						}
+						if (!unindexed.isEmpty()) {
+							for (Entry<String, Object> i : map.entrySet()) {
+								for (Object value : unindexed) {
+									if (Relation.EQUAL.isImpliedBy(Comparators.compare(i.getValue(), value)))
+										toRemove.add(i.getKey());
+								}
 							}
 						}
 						for (String index : toRemove) {
@@ -614,9 +684,15 @@ public class Variable<T> implements Expression<T> {
 						assert mode == ChangeMode.ADD;
 						int i = 1;
 						for (Object value : delta) {
-							if (map != null)
+							if (map instanceof VariableBranch) {
+								// Skip the indices 1 to n the branch knows to be taken instead of probing each of them
+								i = Math.max(i, ((VariableBranch) map).nextFreeIndex());
+								while (map.containsKey("" + i))
+									i++;
+							} else if (map != null) {
 								while (map.containsKey("" + i))
 									i++;
+							}
 							setIndex(event, "" + i, value);
 							i++;
 						}
@@ -31,6 +31,7 @@ import ch.njol.skript.log.RetainingLogHandler;
 import ch.njol.skript.log.SkriptLogger;
 import ch.njol.skript.registrations.Classes;
 import ch.njol.skript.structures.StructVariables.DefaultVariables;
+import ch.njol.skript.util.Pure;
 import ch.njol.skript.util.StringMode;
 import ch.njol.skript.util.Utils;
 import ch.njol.skript.util.chat.ChatMessages;
@@ -56,7 +57,7 @@ import java.util.stream.Collectors;
 /**
  * Represents a string that may contain expressions, and is thus "variable".
  */
-public class VariableString implements Expression<String> {
+public class VariableString implements Expression<String>, Pure {
 
 	@Nullable
 	private final Script script;
@@ -79,6 +80,12 @@ public class VariableString implements Expression<String> {
 	 */
 	private final MessageComponent[] components;
 
+	/**
+	 * Fully parsed message components of a simple string. Parsed lazily on first use,
+	 * as most simple strings are never sent as messages. Only copies of these are handed out.
+	 */
+	private volatile MessageComponent @Nullable [] simpleComponents;
+
 	/**
 	 * Creates a new VariableString which does not contain variables.
 	 *
@@ -408,10 +415,8 @@ public class VariableString implements Expression<String> {
 	 * @return Message components.
 	 */
 	public List<MessageComponent> getMessageComponents(Event event) {
-		if (isSimple) { // Trusted, constant string in a script
-			assert simpleUnformatted != null;
-			return ChatMessages.parse(simpleUnformatted);
-		}
+		if (isSimple) // Trusted, constant string in a script
+			return getSimpleComponents();
 
 		// Parse formatting
 		Object[] strings = this.stringsUnformatted;
@@ -473,14 +478,27 @@ public class VariableString implements Expression<String> {
 	 * @return Message components.
 	 */
 	public List<MessageComponent> getMessageComponentsUnsafe(Event event) {
-		if (isSimple) { // Trusted, constant string in a script
-			assert simpleUnformatted != null;
-			return ChatMessages.parse(simpleUnformatted);
-		}
+		if (isSimple) // Trusted, constant string in a script
+			return getSimpleComponents();
 
 		return ChatMessages.parse(toUnformattedString(event));
 	}
 
+	/**
+	 * @return Copies of the message components of this simple string, which are parsed only once.
+	 */
+	private List<MessageComponent> getSimpleComponents() {
+		MessageComponent[] simpleComponents = this.simpleComponents;
+		if (simpleComponents == null) {
+			assert simpleUnformatted != null;
+			this.simpleComponents = simpleComponents = ChatMessages.parseToArray(simpleUnformatted);
+		}
+		List<MessageComponent> message = new ArrayList<>(simpleComponents.length);
+		for (MessageComponent component : simpleComponents)
+			message.add(component.copy());
+		return message;
+	}
+
 	/**
 	 * Parses all expressions in the string and returns it in chat JSON format.
 	 *
@@ -619,6 +637,14 @@ public class VariableString implements Expression<String> {
 		return isSimple;
 	}
 
+	/**
+	 * Only simple strings are pure, as other strings may contain any expression.
+	 */
+	@Override
+	public boolean isPure() {
+		return isSimple;
+	}
+
 	public StringMode getMode() {
 		return mode;
 	}
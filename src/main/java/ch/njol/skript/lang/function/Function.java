@@ -86,7 +86,7 @@ public abstract class Function<T> {
 	@SuppressWarnings("null")
 	@Nullable
 	public final T[] execute(Object[][] params) {
-		FunctionEvent<? extends T> e = new FunctionEvent<>(this);
+		FunctionEvent<? extends T> e = createEvent();
 		
 		// Call function event only if requested by addon
 		// Functions may be called VERY often, so this might have performance impact
@@ -138,6 +138,14 @@ public abstract class Function<T> {
 		return r == null || r.length > 0 ? r : null;
 	}
 	
+	/**
+	 * Creates the event a call of this function is executed with.
+	 * Script functions need a new event for each call, as it is the scope of their local variables.
+	 */
+	FunctionEvent<? extends T> createEvent() {
+		return new FunctionEvent<>(this);
+	}
+
 	/**
 	 * Executes this function with given parameters. Usually, using
 	 * {@link #execute(Object[][])} is better; it handles optional arguments
@@ -0,0 +1,136 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.lang.function;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.metrics.Counter;
+import ch.njol.skript.metrics.SkriptMetrics;
+import ch.njol.skript.registrations.Classes;
+
+/**
+ * Results of a {@link Signature#isCached() cached} function by their arguments, evicting the least recently used ones.
+ * Arguments and results are cloned, so that changing them later doesn't affect the cache.
+ * A new cache is created whenever the function is reloaded.
+ */
+public final class FunctionCache<T> {
+
+	/**
+	 * The maximum number of results cached per function.
+	 * Field is updated by SkriptConfig in case of reloads.
+	 */
+	public static volatile int maxSize = SkriptConfig.maxCachedFunctionResults.value();
+
+	private final LinkedHashMap<Key, T[]> results = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final Counter hits;
+	private final Counter misses;
+
+	FunctionCache(String function) {
+		String label = SkriptMetrics.label("function", function);
+		hits = SkriptMetrics.counter("function_cache_hits_total", label, "Calls of a cached function answered from its cache");
+		misses = SkriptMetrics.counter("function_cache_misses_total", label, "Calls of a cached function that had to execute it");
+	}
+
+	/**
+	 * @param params The arguments of a call, with default values already applied
+	 * @return A copy of the result cached for the arguments, or null if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable
+	synchronized T[] get(Object[][] params) {
+		T[] result = results.get(new Key(params));
+		if (result == null) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return (T[]) Classes.clone(result);
+	}
+
+	/**
+	 * Caches a result, evicting the least recently used ones if the cache is full.
+	 */
+	@SuppressWarnings("unchecked")
+	synchronized void put(Object[][] params, T[] result) {
+		int maxSize = FunctionCache.maxSize;
+		if (maxSize > 0)
+			results.put(new Key((Object[][]) Classes.clone(params)), (T[]) Classes.clone(result));
+		Iterator<Key> eldest = results.keySet().iterator();
+		for (int i = results.size(); i > maxSize; i--) {
+			eldest.next();
+			eldest.remove();
+		}
+	}
+
+	public synchronized void clear() {
+		results.clear();
+	}
+
+	public synchronized int size() {
+		return results.size();
+	}
+
+	/**
+	 * @return How often this function was called with arguments it had a cached result for, including earlier loads of the function
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return How often this function had to be executed, including earlier loads of the function
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	private static final class Key {
+
+		private final Object[][] arguments;
+		private final int hash;
+
+		Key(Object[][] arguments) {
+			this.arguments = arguments;
+			this.hash = Arrays.deepHashCode(arguments);
+		}
+
+		@Override
+		public boolean equals(@Nullable Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return hash == other.hash && Arrays.deepEquals(arguments, other.arguments);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+	}
+
+}
@@ -31,13 +31,12 @@ import ch.njol.skript.registrations.Classes;
 import org.skriptlang.skript.lang.converter.Converters;
 import ch.njol.skript.util.LiteralUtils;
 import ch.njol.util.StringUtils;
+import org.bukkit.Bukkit;
 import org.bukkit.event.Event;
 import org.eclipse.jdt.annotation.Nullable;
 import ch.njol.skript.util.Contract;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 
 /**
  * Reference to a Skript function.
@@ -73,6 +72,19 @@ public class FunctionReference<T> implements Contract {
 	 */
 	private final Expression<?>[] parameters;
 
+	/**
+	 * Arguments passed to the function, reused by all calls from this reference and sized to the
+	 * parameters of the function, so that it doesn't have to pad it. Only calls on the main thread
+	 * use it, calls made while the frame is in use, e.g. recursive ones, get a new frame.
+	 */
+	private Object @Nullable [][] frame;
+	private boolean frameInUse;
+
+	/**
+	 * Values of each parameter while they are condensed to a single list, reused like {@link #frame}.
+	 */
+	private Object @Nullable [][] listParts;
+
 	/**
 	 * Indicates if the caller expects this function to return a single value.
 	 * Used for verifying correctness of the function signature.
@@ -265,6 +277,8 @@ public class FunctionReference<T> implements Contract {
 		
 		signature = (Signature<? extends T>) sign;
 		sign.calls.add(this);
+		frame = new Object[sign.getMaxParameters()][];
+		listParts = singleListParam && parameters.length > 1 ? new Object[parameters.length][] : null;
 
 		Contract contract = sign.getContract();
 		if (contract != null)
@@ -296,31 +310,58 @@ public class FunctionReference<T> implements Contract {
 			return null; // Return nothing and hope it works
 		}
 		
-		// Prepare parameter values for calling
-		Object[][] params = new Object[singleListParam ? 1 : parameters.length][];
-		if (singleListParam && parameters.length > 1) { // All parameters to one list
-			List<Object> l = new ArrayList<>();
-			for (Expression<?> parameter : parameters)
-				l.addAll(Arrays.asList(parameter.getArray(e)));
-			params[0] = l.toArray();
-			
-			// Don't allow mutating across function boundary; same hack is applied to variables
-			for (int i = 0; i < params[0].length; i++) {
-				params[0][i] = Classes.clone(params[0][i]);
-			}
-		} else { // Use parameters in normal way
-			for (int i = 0; i < parameters.length; i++) {
-				Object[] array = parameters[i].getArray(e);
-				params[i] = Arrays.copyOf(array, array.length);
-				// Don't allow mutating across function boundary; same hack is applied to variables
-				for (int j = 0; j < params[i].length; j++) {
-					params[i][j] = Classes.clone(params[i][j]);
+		// Prepare parameter values for calling, in the preallocated frame if possible
+		Object[][] frame = this.frame;
+		boolean reuseFrame = !frameInUse && frame != null && frame.length == function.getParameters().length
+			&& Bukkit.isPrimaryThread();
+		Object[][] params = reuseFrame ? frame : new Object[singleListParam ? 1 : parameters.length][];
+		if (reuseFrame)
+			frameInUse = true;
+		try {
+			if (singleListParam && parameters.length > 1) { // All parameters to one list
+				Object[][] parts = reuseFrame && listParts != null ? listParts : new Object[parameters.length][];
+				params[0] = toList(parts, e);
+			} else { // Use parameters in normal way
+				for (int i = 0; i < parameters.length; i++) {
+					Object[] array = parameters[i].getArray(e);
+					params[i] = Arrays.copyOf(array, array.length);
+					// Don't allow mutating across function boundary; same hack is applied to variables
+					for (int j = 0; j < params[i].length; j++) {
+						params[i][j] = Classes.clone(params[i][j]);
+					}
 				}
 			}
+
+			// Execute the function
+			return function.execute(params);
+		} finally {
+			if (reuseFrame) {
+				Arrays.fill(frame, null); // Also clears default values, which are evaluated again for each call
+				frameInUse = false;
+			}
 		}
-		
-		// Execute the function
-		return function.execute(params);
+	}
+
+	/**
+	 * Condenses the values of all parameters to a single list.
+	 *
+	 * @param parts Array to hold the values of each parameter temporarily
+	 */
+	private Object[] toList(Object[][] parts, Event e) {
+		int size = 0;
+		for (int i = 0; i < parameters.length; i++) {
+			parts[i] = parameters[i].getArray(e);
+			size += parts[i].length;
+		}
+		Object[] list = new Object[size];
+		int index = 0;
+		for (int i = 0; i < parts.length; i++) {
+			// Don't allow mutating across function boundary; same hack is applied to variables
+			for (Object value : parts[i])
+				list[index++] = Classes.clone(value);
+			parts[i] = null;
+		}
+		return list;
 	}
 
 	public boolean isSingle() {
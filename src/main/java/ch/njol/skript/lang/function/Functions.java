@@ -141,8 +141,26 @@ public abstract class Functions {
 	 * @see Functions#registerSignature(Signature)
 	 */
 	@Nullable
-	@SuppressWarnings({"unchecked", "null"})
 	public static Signature<?> parseSignature(String script, String name, String args, @Nullable String returnType, boolean local) {
+		return parseSignature(script, name, args, returnType, local, false);
+	}
+
+	/**
+	 * Parses the signature from the given arguments.
+	 * @param script Script file name (<b>might</b> be used for some checks).
+	 * @param name The name of the function.
+	 * @param args The parameters of the function. See {@link Parameter#parse(String)}
+	 * @param returnType The return type of the function
+	 * @param local If the signature of function is local.
+	 * @param cached If the results of the function should be cached, see {@link FunctionCache}.
+	 * @return Parsed signature or null if something went wrong.
+	 * @see Functions#registerSignature(Signature)
+	 */
+	@Nullable
+	@SuppressWarnings({"unchecked", "null"})
+	public static Signature<?> parseSignature(String script, String name, String args, @Nullable String returnType, boolean local, boolean cached) {
+		if (cached && returnType == null)
+			return signError("Only functions that return a value can be cached");
 		List<Parameter<?>> parameters = Parameter.parse(args);
 		if (parameters == null)
 			return null;
@@ -162,7 +180,7 @@ public abstract class Functions {
 			if (returnClass == null)
 				return signError("Cannot recognise the type '" + returnType + "'");
 		}
-		return new Signature<>(script, name, parameters.toArray(new Parameter[0]), local, (ClassInfo<Object>) returnClass, singleReturn, null);
+		return new Signature<>(script, name, parameters.toArray(new Parameter[0]), local, (ClassInfo<Object>) returnClass, singleReturn, null, null, cached);
 	}
 
 	/**
@@ -43,6 +43,25 @@ public abstract class JavaFunction<T> extends Function<T> {
 	@Override
 	@Nullable
 	public abstract T[] execute(FunctionEvent<?> e, Object[][] params);
+
+	/**
+	 * Shared by all calls, as Java functions don't have local variables.
+	 */
+	@Nullable
+	private FunctionEvent<T> event;
+
+	/**
+	 * Reuses the same event for all calls unless function events are called, as listeners may keep them.
+	 */
+	@Override
+	FunctionEvent<? extends T> createEvent() {
+		if (Functions.callFunctionEvents)
+			return super.createEvent();
+		FunctionEvent<T> event = this.event;
+		if (event == null)
+			this.event = event = new FunctionEvent<>(this);
+		return event;
+	}
 	
 	@Nullable
 	private String[] description = null;
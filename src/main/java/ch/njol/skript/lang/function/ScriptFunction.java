@@ -31,10 +31,15 @@ import ch.njol.skript.lang.Trigger;
 import ch.njol.skript.lang.util.SimpleEvent;
 import ch.njol.skript.variables.Variables;
 
+import java.lang.reflect.Array;
+
 public class ScriptFunction<T> extends Function<T> implements ReturnHandler<T> {
 
 	private final Trigger trigger;
 
+	@Nullable
+	private final FunctionCache<T> cache;
+
 	private boolean returnValueSet;
 	private T @Nullable [] returnValues;
 
@@ -56,12 +61,21 @@ public class ScriptFunction<T> extends Function<T> implements ReturnHandler<T> {
 			Functions.currentFunction = null;
 		}
 		trigger.setLineNumber(node.getLine());
+		cache = sign.isCached() ? new FunctionCache<>(sign.getName()) : null;
 	}
 
 	// REMIND track possible types of local variables (including undefined variables) (consider functions, commands, and EffChange) - maybe make a general interface for this purpose
 	// REM: use patterns, e.g. {_a%b%} is like "a.*", and thus subsequent {_axyz} may be set and of that type.
 	@Override
+	@SuppressWarnings("unchecked")
 	public T @Nullable [] execute(final FunctionEvent<?> e, final Object[][] params) {
+		FunctionCache<T> cache = this.cache;
+		if (cache != null) {
+			T[] cached = cache.get(params);
+			if (cached != null)
+				return cached;
+		}
+
 		Parameter<?>[] parameters = getSignature().getParameters();
 		for (int i = 0; i < parameters.length; i++) {
 			Parameter<?> p = parameters[i];
@@ -77,7 +91,19 @@ public class ScriptFunction<T> extends Function<T> implements ReturnHandler<T> {
 		
 		trigger.execute(e);
 		ClassInfo<T> returnType = getReturnType();
-		return returnType != null ? returnValues : null;
+		if (returnType == null)
+			return null;
+		if (cache != null && returnValueSet) // Don't cache functions that were delayed or didn't return
+			cache.put(params, returnValues != null ? returnValues : (T[]) Array.newInstance(returnType.getC(), 0));
+		return returnValues;
+	}
+
+	/**
+	 * @return The cache of this function's results, or null if this function isn't {@link Signature#isCached() cached}
+	 */
+	@Nullable
+	public FunctionCache<T> getCache() {
+		return cache;
 	}
 
 	/**
@@ -82,13 +82,19 @@ public class Signature<T> {
 	@Nullable
 	final Contract contract;
 
+	/**
+	 * Whether the results of this function are cached by their arguments, see {@link FunctionCache}.
+	 */
+	final boolean cached;
+
 	public Signature(String script,
 					 String name,
 					 Parameter<?>[] parameters, boolean local,
 					 @Nullable ClassInfo<T> returnType,
 					 boolean single,
 					 @Nullable String originClassPath,
-					 @Nullable Contract contract) {
+					 @Nullable Contract contract,
+					 boolean cached) {
 		this.script = script;
 		this.name = name;
 		this.parameters = parameters;
@@ -97,10 +103,21 @@ public class Signature<T> {
 		this.single = single;
 		this.originClassPath = originClassPath;
 		this.contract = contract;
+		this.cached = cached;
 
 		calls = Collections.newSetFromMap(new WeakHashMap<>());
 	}
 
+	public Signature(String script,
+					 String name,
+					 Parameter<?>[] parameters, boolean local,
+					 @Nullable ClassInfo<T> returnType,
+					 boolean single,
+					 @Nullable String originClassPath,
+					 @Nullable Contract contract) {
+		this(script, name, parameters, local, returnType, single, originClassPath, contract, false);
+	}
+
 	public Signature(String script,
 					 String name,
 					 Parameter<?>[] parameters, boolean local,
@@ -149,6 +166,10 @@ public class Signature<T> {
 		return contract;
 	}
 
+	public boolean isCached() {
+		return cached;
+	}
+
 	/**
 	 * Gets maximum number of parameters that the function described by this
 	 * signature is able to take.
@@ -27,6 +27,7 @@ import ch.njol.skript.lang.Literal;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.UnparsedLiteral;
 import ch.njol.skript.registrations.Classes;
+import ch.njol.skript.util.Pure;
 import ch.njol.skript.util.StringMode;
 import ch.njol.skript.util.Utils;
 import ch.njol.util.Checker;
@@ -45,7 +46,7 @@ import java.util.Arrays;
  *
  * @see UnparsedLiteral
  */
-public class SimpleLiteral<T> implements Literal<T>, DefaultExpression<T> {
+public class SimpleLiteral<T> implements Literal<T>, DefaultExpression<T>, Pure {
 
 	protected final Class<T> type;
 
@@ -169,6 +170,19 @@ public class SimpleLiteral<T> implements Literal<T>, DefaultExpression<T> {
 		return isDefault;
 	}
 
+	/**
+	 * Only literals of {@link Pure#isThreadSafe(Object) thread-safe} values are pure,
+	 * as comparing or converting other values may depend on the state of the server.
+	 */
+	@Override
+	public boolean isPure() {
+		for (T value : data) {
+			if (!Pure.isThreadSafe(value))
+				return false;
+		}
+		return true;
+	}
+
 	@Override
 	public boolean check(Event event, Checker<? super T> checker, boolean negated) {
 		return SimpleExpression.check(data, checker, negated, getAnd());
@@ -18,17 +18,20 @@
  */
 package ch.njol.skript.log;
 
+import java.util.ArrayDeque;
 import java.util.Iterator;
-import java.util.LinkedList;
 
 import org.eclipse.jdt.annotation.Nullable;
 
 /**
+ * A stack of log handlers, iterated from the most recently added one.
+ * Backed by an array, as it is iterated on every logged message.
+ * 
  * @author Peter Güttinger
  */
 public class HandlerList implements Iterable<LogHandler> {
 	
-	private final LinkedList<LogHandler> list = new LinkedList<>();
+	private final ArrayDeque<LogHandler> list = new ArrayDeque<>();
 	
 	public void add(LogHandler h) {
 		list.addFirst(h);
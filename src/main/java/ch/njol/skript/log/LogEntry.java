@@ -113,25 +113,16 @@ public class LogEntry {
 		return message;
 	}
 
-	private boolean used;
-
 	void discarded(String info) {
-		used = true;
 		if (tracked)
 			SkriptLogger.LOGGER.warning(" # LogEntry '" + message + "'" + from + " discarded" + findCaller() + "; " + (new Exception()).getStackTrace()[1] + "; " + info);
 	}
 
 	void logged() {
-		used = true;
 		if (tracked)
 			SkriptLogger.LOGGER.warning(" # LogEntry '" + message + "'" + from + " logged" + findCaller());
 	}
 
-	@Override
-	protected void finalize() {
-		assert used : message + from;
-	}
-
 	@Override
 	public String toString() {
 		if (node == null || level.intValue() < Level.WARNING.intValue())
@@ -0,0 +1,54 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A metric that only goes up, e.g. the number of executed triggers.
+ */
+public final class Counter extends Metric {
+
+	private final LongAdder value = new LongAdder();
+
+	Counter(String name, @Nullable String labels, String help) {
+		super(name, labels, help);
+	}
+
+	public void increment() {
+		value.increment();
+	}
+
+	public void add(long amount) {
+		assert amount >= 0 : amount;
+		value.add(amount);
+	}
+
+	public long get() {
+		return value.sum();
+	}
+
+	@Override
+	public Type getType() {
+		return Type.COUNTER;
+	}
+
+}
@@ -0,0 +1,46 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.metrics;
+
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A metric whose value is read from its source whenever it is exported, e.g. the size of a queue.
+ */
+public final class Gauge extends Metric {
+
+	private final LongSupplier source;
+
+	Gauge(String name, @Nullable String labels, String help, LongSupplier source) {
+		super(name, labels, help);
+		this.source = source;
+	}
+
+	public long get() {
+		return source.getAsLong();
+	}
+
+	@Override
+	public Type getType() {
+		return Type.GAUGE;
+	}
+
+}
@@ -0,0 +1,119 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A metric that records the distribution of non-negative values, e.g. latencies.
+ * <p>
+ * Values are counted in buckets whose width grows with their magnitude (16 buckets per power of two),
+ * so every recorded value is known with a relative error of at most 1/16 while the memory use stays fixed.
+ */
+public final class Histogram extends Metric {
+
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final String unit;
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	Histogram(String name, @Nullable String labels, String help, String unit) {
+		super(name, labels, help);
+		this.unit = unit;
+	}
+
+	/**
+	 * @return The unit of the recorded values, e.g. "microseconds"
+	 */
+	public String getUnit() {
+		return unit;
+	}
+
+	public void record(long value) {
+		if (value < 0)
+			value = 0;
+		buckets.incrementAndGet(index(value));
+		count.increment();
+		sum.add(value);
+		max.accumulateAndGet(value, Math::max);
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	public long getSum() {
+		return sum.sum();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * @param quantile A quantile between 0 and 1
+	 * @return The highest value of the bucket containing the given quantile, or 0 if nothing has been recorded
+	 */
+	public long getQuantile(double quantile) {
+		long count = getCount();
+		if (count == 0)
+			return 0;
+		long rank = Math.max(1, (long) Math.ceil(quantile * count));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += buckets.get(i);
+			if (seen >= rank)
+				return Math.min(lowerBound(i + 1) - 1, getMax());
+		}
+		return getMax();
+	}
+
+	@Override
+	public Type getType() {
+		return Type.HISTOGRAM;
+	}
+
+	static int index(long value) {
+		if (value < SUB_BUCKETS)
+			return (int) value;
+		int highestBit = 63 - Long.numberOfLeadingZeros(value);
+		int group = highestBit - SUB_BUCKET_BITS + 1;
+		int subBucket = (int) (value >>> (highestBit - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return group * SUB_BUCKETS + subBucket;
+	}
+
+	static long lowerBound(int index) {
+		int group = index / SUB_BUCKETS, subBucket = index % SUB_BUCKETS;
+		if (group == 0)
+			return subBucket;
+		if (group >= BUCKETS / SUB_BUCKETS)
+			return Long.MAX_VALUE;
+		return (long) (SUB_BUCKETS + subBucket) << (group - 1);
+	}
+
+}
@@ -0,0 +1,75 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.metrics;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A named value published to {@link SkriptMetrics}.
+ */
+public abstract class Metric {
+
+	public enum Type {
+		COUNTER, GAUGE, HISTOGRAM
+	}
+
+	private final String name;
+	@Nullable
+	private final String labels;
+	private final String help;
+
+	Metric(String name, @Nullable String labels, String help) {
+		this.name = name;
+		this.labels = labels;
+		this.help = help;
+	}
+
+	/**
+	 * @return The name of this metric, shared by all metrics that only differ in their labels
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return The labels of this metric in the form {@code key="value",...}, or null if it has none
+	 */
+	@Nullable
+	public String getLabels() {
+		return labels;
+	}
+
+	public String getHelp() {
+		return help;
+	}
+
+	/**
+	 * @return The name of this metric including its labels, which identifies it in the registry
+	 */
+	public String getId() {
+		return id(name, labels);
+	}
+
+	public abstract Type getType();
+
+	static String id(String name, @Nullable String labels) {
+		return labels == null ? name : name + "{" + labels + "}";
+	}
+
+}
@@ -0,0 +1,264 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.metrics;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.util.FileUtils;
+import ch.njol.skript.util.Timespan;
+
+/**
+ * Publishes all {@link SkriptMetrics metrics} to a text file in the Prometheus exposition format
+ * and/or as attributes of a JMX MBean.
+ */
+public class MetricsExporter implements Closeable {
+
+	private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+	private static final String OBJECT_NAME = "ch.njol.skript:type=Metrics";
+
+	@Nullable
+	private final File file;
+	private final boolean jmx;
+	private final Timespan interval;
+
+	@Nullable
+	private BukkitTask task;
+	@Nullable
+	private ObjectName objectName;
+
+	/**
+	 * @param file The file to periodically write the metrics to, or null to not write them to a file
+	 * @param jmx Whether to register the metrics as a JMX MBean
+	 * @param interval How often to write the file
+	 */
+	public MetricsExporter(@Nullable File file, boolean jmx, Timespan interval) {
+		this.file = file;
+		this.jmx = jmx;
+		this.interval = interval;
+	}
+
+	public void start() {
+		if (file != null) {
+			long ticks = Math.max(1, interval.getTicks_i());
+			task = Bukkit.getScheduler().runTaskTimerAsynchronously(Skript.getInstance(), this::writeFile, ticks, ticks);
+		}
+		if (jmx) {
+			try {
+				ObjectName objectName = new ObjectName(OBJECT_NAME);
+				MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+				if (server.isRegistered(objectName)) // Left over from a previous instance of Skript
+					server.unregisterMBean(objectName);
+				server.registerMBean(new MetricsMBean(), objectName);
+				this.objectName = objectName;
+			} catch (JMException e) {
+				Skript.exception(e, "Could not register Skript's metrics with JMX");
+			}
+		}
+	}
+
+	@Override
+	public void close() {
+		BukkitTask task = this.task;
+		if (task != null) {
+			task.cancel();
+			this.task = null;
+			writeFile();
+		}
+		ObjectName objectName = this.objectName;
+		if (objectName != null) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+			} catch (JMException ignored) {}
+			this.objectName = null;
+		}
+	}
+
+	private synchronized void writeFile() {
+		File file = this.file;
+		if (file == null)
+			return;
+		File temp = new File(file.getPath() + ".tmp");
+		try {
+			try (BufferedWriter writer = Files.newBufferedWriter(temp.toPath(), StandardCharsets.UTF_8)) {
+				writer.write(toText());
+			}
+			FileUtils.move(temp, file, true);
+		} catch (IOException e) {
+			Skript.error("Could not write metrics to " + file + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * @return All metrics in the Prometheus text exposition format
+	 */
+	public static String toText() {
+		List<Metric> metrics = new ArrayList<>(SkriptMetrics.getAll());
+		metrics.sort(Comparator.comparing(Metric::getId));
+		StringBuilder builder = new StringBuilder();
+		Set<String> described = new HashSet<>();
+		for (Metric metric : metrics) {
+			String name = "skript_" + metric.getName();
+			String labels = metric.getLabels();
+			if (described.add(name)) {
+				builder.append("# HELP ").append(name).append(' ').append(metric.getHelp()).append('\n');
+				builder.append("# TYPE ").append(name).append(' ')
+					.append(metric.getType() == Metric.Type.HISTOGRAM ? "summary" : metric.getType().name().toLowerCase()).append('\n');
+			}
+			if (metric instanceof Counter) {
+				line(builder, name, labels, null, ((Counter) metric).get());
+			} else if (metric instanceof Gauge) {
+				line(builder, name, labels, null, ((Gauge) metric).get());
+			} else if (metric instanceof Histogram) {
+				Histogram histogram = (Histogram) metric;
+				for (double quantile : QUANTILES)
+					line(builder, name, labels, "quantile=\"" + quantile + "\"", histogram.getQuantile(quantile));
+				line(builder, name + "_max", labels, null, histogram.getMax());
+				line(builder, name + "_sum", labels, null, histogram.getSum());
+				line(builder, name + "_count", labels, null, histogram.getCount());
+			}
+		}
+		return builder.toString();
+	}
+
+	private static void line(StringBuilder builder, String name, @Nullable String labels, @Nullable String extraLabel, long value) {
+		builder.append(name);
+		if (labels != null || extraLabel != null) {
+			builder.append('{');
+			if (labels != null)
+				builder.append(labels);
+			if (labels != null && extraLabel != null)
+				builder.append(',');
+			if (extraLabel != null)
+				builder.append(extraLabel);
+			builder.append('}');
+		}
+		builder.append(' ').append(value).append('\n');
+	}
+
+	/**
+	 * Exposes every counter and gauge as one attribute, and every histogram as one attribute per statistic.
+	 */
+	private static final class MetricsMBean implements DynamicMBean {
+
+		private static final String[] HISTOGRAM_STATISTICS = {"count", "sum", "max", "p50", "p90", "p99"};
+
+		@Override
+		public Object getAttribute(String attribute) throws AttributeNotFoundException {
+			Metric metric = SkriptMetrics.get(attribute);
+			if (metric instanceof Counter)
+				return ((Counter) metric).get();
+			if (metric instanceof Gauge)
+				return ((Gauge) metric).get();
+			int separator = attribute.lastIndexOf('.');
+			if (separator != -1) {
+				metric = SkriptMetrics.get(attribute.substring(0, separator));
+				if (metric instanceof Histogram) {
+					Histogram histogram = (Histogram) metric;
+					switch (attribute.substring(separator + 1)) {
+						case "count":
+							return histogram.getCount();
+						case "sum":
+							return histogram.getSum();
+						case "max":
+							return histogram.getMax();
+						case "p50":
+							return histogram.getQuantile(0.5);
+						case "p90":
+							return histogram.getQuantile(0.9);
+						case "p99":
+							return histogram.getQuantile(0.99);
+					}
+				}
+			}
+			throw new AttributeNotFoundException(attribute);
+		}
+
+		@Override
+		public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+			throw new AttributeNotFoundException("Metrics are read-only");
+		}
+
+		@Override
+		public AttributeList getAttributes(String[] attributes) {
+			AttributeList list = new AttributeList();
+			for (String attribute : attributes) {
+				try {
+					list.add(new Attribute(attribute, getAttribute(attribute)));
+				} catch (AttributeNotFoundException ignored) {}
+			}
+			return list;
+		}
+
+		@Override
+		public AttributeList setAttributes(AttributeList attributes) {
+			return new AttributeList();
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(String actionName, Object[] params, String[] signature) {
+			return null;
+		}
+
+		@Override
+		public MBeanInfo getMBeanInfo() {
+			List<MBeanAttributeInfo> attributes = new ArrayList<>();
+			for (Metric metric : SkriptMetrics.getAll()) {
+				if (metric instanceof Histogram) {
+					for (String statistic : HISTOGRAM_STATISTICS) {
+						attributes.add(new MBeanAttributeInfo(metric.getId() + "." + statistic, "long",
+							metric.getHelp() + " (" + statistic + ", " + ((Histogram) metric).getUnit() + ")", true, false, false));
+					}
+				} else {
+					attributes.add(new MBeanAttributeInfo(metric.getId(), "long", metric.getHelp(), true, false, false));
+				}
+			}
+			return new MBeanInfo(MetricsMBean.class.getName(), "Skript's internal metrics",
+				attributes.toArray(new MBeanAttributeInfo[0]), null, null, null);
+		}
+
+	}
+
+}
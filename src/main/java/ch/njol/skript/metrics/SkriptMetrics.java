@@ -0,0 +1,121 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.SkriptAPIException;
+
+/**
+ * The registry of all metrics Skript (and addons) publish about their internals.
+ * <p>
+ * Metrics are identified by their name and labels. Asking for a metric that already exists returns the existing one,
+ * so subsystems can simply look their metrics up where they need them and keep them in a field.
+ */
+public final class SkriptMetrics {
+
+	private static final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+
+	private SkriptMetrics() {}
+
+	public static Counter counter(String name, String help) {
+		return counter(name, null, help);
+	}
+
+	/**
+	 * @param labels Labels in the form {@code key="value",...}, or null
+	 */
+	public static Counter counter(String name, @Nullable String labels, String help) {
+		return register(Counter.class, new Counter(name, labels, help));
+	}
+
+	public static Gauge gauge(String name, String help, LongSupplier source) {
+		return gauge(name, null, help, source);
+	}
+
+	/**
+	 * Registers a gauge. Unlike other metrics, a gauge registered again replaces the old one,
+	 * as its source is usually tied to an object that has been replaced.
+	 *
+	 * @param labels Labels in the form {@code key="value",...}, or null
+	 */
+	public static Gauge gauge(String name, @Nullable String labels, String help, LongSupplier source) {
+		Gauge gauge = new Gauge(name, labels, help, source);
+		metrics.compute(gauge.getId(), (id, old) -> {
+			if (old != null && !(old instanceof Gauge))
+				throw new SkriptAPIException("The metric " + id + " is already registered as a " + old.getType().name().toLowerCase());
+			return gauge;
+		});
+		return gauge;
+	}
+
+	public static Histogram histogram(String name, String help, String unit) {
+		return histogram(name, null, help, unit);
+	}
+
+	/**
+	 * @param labels Labels in the form {@code key="value",...}, or null
+	 */
+	public static Histogram histogram(String name, @Nullable String labels, String help, String unit) {
+		return register(Histogram.class, new Histogram(name, labels, help, unit));
+	}
+
+	/**
+	 * @return A label with the given key and value, escaped as needed
+	 */
+	public static String label(String key, String value) {
+		return key + "=\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+	}
+
+	/**
+	 * Removes a metric, e.g. because the object it describes is gone.
+	 */
+	public static void remove(Metric metric) {
+		metrics.remove(metric.getId(), metric);
+	}
+
+	/**
+	 * @return A snapshot of all registered metrics
+	 */
+	public static Collection<Metric> getAll() {
+		return Collections.unmodifiableCollection(new ArrayList<>(metrics.values()));
+	}
+
+	@Nullable
+	public static Metric get(String id) {
+		return metrics.get(id);
+	}
+
+	private static <T extends Metric> T register(Class<T> type, T metric) {
+		Metric existing = metrics.putIfAbsent(metric.getId(), metric);
+		if (existing == null)
+			return metric;
+		if (!type.isInstance(existing))
+			throw new SkriptAPIException("The metric " + metric.getId() + " is already registered as a " + existing.getType().name().toLowerCase());
+		return type.cast(existing);
+	}
+
+}
@@ -80,6 +80,15 @@ public class ParseTagPatternElement extends PatternElement {
 		super.setNext(next);
 	}
 
+	@Nullable
+	String getTag() {
+		return tag;
+	}
+
+	int getMark() {
+		return mark;
+	}
+
 	@Override
 	@Nullable
 	public MatchResult match(String expr, MatchResult matchResult) {
@@ -0,0 +1,345 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.patterns;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.classes.ClassInfo;
+import ch.njol.skript.lang.SkriptParser.ExprInfo;
+import ch.njol.skript.registrations.Classes;
+import ch.njol.skript.util.FileUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * A persistent cache of compiled {@link SkriptPattern}s.
+ * <p>
+ * Compiled patterns are stored in a versioned binary file, keyed by the pattern string.
+ * The file is only reused if it was written by the exact same Skript jar (compared by its SHA-256 hash),
+ * otherwise it is considered stale and all patterns are compiled again.
+ * <p>
+ * Cached patterns are decoded lazily, when they are first requested, since decoding {@link TypePatternElement}s
+ * requires all {@link ClassInfo}s to be registered.
+ * If decoding fails for any reason, the pattern is compiled through {@link PatternCompiler} instead.
+ */
+public final class PatternCache {
+
+	private PatternCache() {}
+
+	private static final int MAGIC = 0x534B5043; // SKPC
+	private static final int FORMAT_VERSION = 1;
+
+	private static final byte LITERAL = 0;
+	private static final byte OPTIONAL = 1;
+	private static final byte GROUP = 2;
+	private static final byte CHOICE = 3;
+	private static final byte PARSE_TAG = 4;
+	private static final byte TYPE = 5;
+	private static final byte REGEX = 6;
+
+	/**
+	 * Encoded patterns read from the cache file, that haven't been requested yet.
+	 */
+	private static final Map<String, byte[]> encoded = new ConcurrentHashMap<>();
+
+	/**
+	 * Patterns that have been compiled or decoded during this session.
+	 */
+	private static final Map<String, SkriptPattern> resolved = new ConcurrentHashMap<>();
+
+	@Nullable
+	private static String fingerprint;
+	private static boolean enabled;
+	private static volatile boolean dirty;
+
+	private static final AtomicLong hits = new AtomicLong(), misses = new AtomicLong();
+	private static final AtomicLong decodeNanos = new AtomicLong(), compileNanos = new AtomicLong();
+
+	/**
+	 * Gets the compiled form of the given pattern, either from the cache or by compiling it.
+	 *
+	 * @throws MalformedPatternException when the given pattern is malformed.
+	 */
+	public static SkriptPattern get(String pattern) throws MalformedPatternException {
+		if (enabled) {
+			byte[] bytes = encoded.remove(pattern);
+			if (bytes != null) {
+				long start = System.nanoTime();
+				try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+					SkriptPattern skriptPattern = new SkriptPattern(readLevel(in), in.readInt());
+					hits.incrementAndGet();
+					decodeNanos.addAndGet(System.nanoTime() - start);
+					resolved.put(pattern, skriptPattern);
+					return skriptPattern;
+				} catch (IOException | RuntimeException e) {
+					// The entry is unusable (e.g. a type it refers to doesn't exist anymore), just compile it
+					dirty = true;
+				}
+			}
+		}
+
+		long start = System.nanoTime();
+		SkriptPattern skriptPattern = PatternCompiler.compile(pattern);
+		if (enabled) {
+			misses.incrementAndGet();
+			compileNanos.addAndGet(System.nanoTime() - start);
+			resolved.put(pattern, skriptPattern);
+			dirty = true;
+		}
+		return skriptPattern;
+	}
+
+	/**
+	 * Enables the cache and loads the given cache file, if it exists and was written by the given jar.
+	 *
+	 * @param file The cache file.
+	 * @param jar The jar file the patterns are compiled by, used to determine whether the cache is stale.
+	 */
+	public static void load(File file, File jar) {
+		long start = System.currentTimeMillis();
+		try {
+			fingerprint = Skript.getVersion() + "/" + hash(jar);
+		} catch (IOException | NoSuchAlgorithmException e) {
+			Skript.debug("Could not hash " + jar + ", the pattern cache is disabled: " + e);
+			return;
+		}
+		enabled = true;
+
+		if (!file.exists())
+			return;
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !in.readUTF().equals(fingerprint)) {
+				Skript.debug("The pattern cache is stale, all patterns will be compiled again");
+				dirty = true;
+				return;
+			}
+			int size = in.readInt();
+			for (int i = 0; i < size; i++) {
+				String pattern = in.readUTF();
+				byte[] bytes = new byte[in.readInt()];
+				in.readFully(bytes);
+				encoded.put(pattern, bytes);
+			}
+		} catch (IOException e) {
+			Skript.debug("Could not read the pattern cache, all patterns will be compiled again: " + e);
+			encoded.clear();
+			dirty = true;
+			return;
+		}
+
+		if (Skript.logVeryHigh())
+			Skript.info("Loaded " + encoded.size() + " cached patterns in " + (System.currentTimeMillis() - start) + " ms");
+	}
+
+	/**
+	 * Writes all patterns compiled or decoded during this session to the given file, if anything has changed.
+	 * Patterns from the previous cache file that were never requested are kept as well.
+	 */
+	public static void save(File file) {
+		if (!enabled || !dirty)
+			return;
+		dirty = false;
+
+		if (Skript.debug()) {
+			Skript.debug("Pattern cache: " + hits.get() + " patterns decoded in " + decodeNanos.get() / 1_000_000 + " ms, "
+				+ misses.get() + " patterns compiled in " + compileNanos.get() / 1_000_000 + " ms");
+		}
+
+		File temp = new File(file.getPath() + ".tmp");
+		try {
+			List<Map.Entry<String, byte[]>> entries = new ArrayList<>(encoded.entrySet());
+			for (Map.Entry<String, SkriptPattern> entry : resolved.entrySet()) {
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				try (DataOutputStream out = new DataOutputStream(bytes)) {
+					writeLevel(entry.getValue().getFirst(), out);
+					out.writeInt(entry.getValue().countTypes());
+				} catch (RuntimeException e) { // shouldn't happen, but an unusual element should never stop the cache from being written
+					continue;
+				}
+				entries.add(new SimpleEntry<>(entry.getKey(), bytes.toByteArray()));
+			}
+
+			assert fingerprint != null;
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeUTF(fingerprint);
+				out.writeInt(entries.size());
+				for (Map.Entry<String, byte[]> entry : entries) {
+					out.writeUTF(entry.getKey());
+					out.writeInt(entry.getValue().length);
+					out.write(entry.getValue());
+				}
+			}
+			FileUtils.move(temp, file, true);
+		} catch (IOException e) {
+			Skript.debug("Could not write the pattern cache: " + e);
+			temp.delete();
+		}
+	}
+
+	private static String hash(File jar) throws IOException, NoSuchAlgorithmException {
+		MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		try (InputStream in = new FileInputStream(jar)) {
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) != -1)
+				digest.update(buffer, 0, read);
+		}
+		StringBuilder hex = new StringBuilder();
+		for (byte b : digest.digest())
+			hex.append(String.format("%02x", b));
+		return hex.toString();
+	}
+
+	/**
+	 * Writes all elements on the level of the given element, i.e. the given element and all elements
+	 * reachable through {@link PatternElement#originalNext}.
+	 */
+	private static void writeLevel(PatternElement first, DataOutputStream out) throws IOException {
+		int count = 0;
+		for (PatternElement element = first; element != null; element = element.originalNext)
+			count++;
+		out.writeInt(count);
+		for (PatternElement element = first; element != null; element = element.originalNext)
+			writeElement(element, out);
+	}
+
+	private static void writeElement(PatternElement element, DataOutputStream out) throws IOException {
+		if (element instanceof LiteralPatternElement) {
+			out.writeByte(LITERAL);
+			out.writeUTF(element.toString());
+		} else if (element instanceof OptionalPatternElement) {
+			out.writeByte(OPTIONAL);
+			writeLevel(((OptionalPatternElement) element).getPatternElement(), out);
+		} else if (element instanceof GroupPatternElement) {
+			out.writeByte(GROUP);
+			writeLevel(((GroupPatternElement) element).getPatternElement(), out);
+		} else if (element instanceof ChoicePatternElement) {
+			// Choices are always the only element on their level, as the compiler appends everything after them to their last choice
+			assert element.originalNext == null;
+			List<PatternElement> choices = ((ChoicePatternElement) element).getPatternElements();
+			out.writeByte(CHOICE);
+			out.writeInt(choices.size());
+			for (PatternElement choice : choices)
+				writeLevel(choice, out);
+		} else if (element instanceof ParseTagPatternElement) {
+			ParseTagPatternElement parseTag = (ParseTagPatternElement) element;
+			String tag = parseTag.getTag();
+			out.writeByte(PARSE_TAG);
+			out.writeBoolean(tag != null);
+			if (tag != null) {
+				out.writeUTF(tag);
+			} else {
+				out.writeInt(parseTag.getMark());
+			}
+		} else if (element instanceof TypePatternElement) {
+			TypePatternElement type = (TypePatternElement) element;
+			ExprInfo exprInfo = type.getExprInfo();
+			out.writeByte(TYPE);
+			out.writeInt(exprInfo.classes.length);
+			for (int i = 0; i < exprInfo.classes.length; i++) {
+				out.writeUTF(exprInfo.classes[i].getCodeName());
+				out.writeBoolean(exprInfo.isPlural[i]);
+			}
+			out.writeBoolean(exprInfo.isOptional);
+			out.writeInt(exprInfo.flagMask);
+			out.writeInt(exprInfo.time);
+			out.writeInt(type.getExpressionIndex());
+		} else if (element instanceof RegexPatternElement) {
+			out.writeByte(REGEX);
+			out.writeUTF(((RegexPatternElement) element).getPattern().pattern());
+		} else {
+			throw new IllegalArgumentException("Unknown pattern element " + element.getClass().getName());
+		}
+	}
+
+	/**
+	 * Reads a level written by {@link #writeLevel(PatternElement, DataOutputStream)}, linking the elements
+	 * in the same way {@link PatternCompiler} does.
+	 */
+	private static PatternElement readLevel(DataInputStream in) throws IOException {
+		int count = in.readInt();
+		PatternElement first = null;
+		for (int i = 0; i < count; i++)
+			first = PatternCompiler.appendElement(first, readElement(in));
+		if (first == null)
+			throw new IOException("Empty pattern level");
+		return first;
+	}
+
+	private static PatternElement readElement(DataInputStream in) throws IOException {
+		byte type = in.readByte();
+		switch (type) {
+			case LITERAL:
+				return new LiteralPatternElement(in.readUTF());
+			case OPTIONAL:
+				return new OptionalPatternElement(readLevel(in));
+			case GROUP:
+				return new GroupPatternElement(readLevel(in));
+			case CHOICE:
+				ChoicePatternElement choicePatternElement = new ChoicePatternElement();
+				int choices = in.readInt();
+				for (int i = 0; i < choices; i++)
+					choicePatternElement.add(readLevel(in));
+				return choicePatternElement;
+			case PARSE_TAG:
+				if (in.readBoolean())
+					return new ParseTagPatternElement(in.readUTF());
+				return new ParseTagPatternElement(in.readInt());
+			case TYPE:
+				int length = in.readInt();
+				ClassInfo<?>[] classes = new ClassInfo[length];
+				boolean[] isPlural = new boolean[length];
+				for (int i = 0; i < length; i++) {
+					classes[i] = Classes.getClassInfo(in.readUTF());
+					isPlural[i] = in.readBoolean();
+				}
+				boolean isNullable = in.readBoolean();
+				int flagMask = in.readInt();
+				int time = in.readInt();
+				return new TypePatternElement(classes, isPlural, isNullable, flagMask, time, in.readInt());
+			case REGEX:
+				return new RegexPatternElement(Pattern.compile(in.readUTF()));
+			default:
+				throw new IOException("Unknown pattern element type " + type);
+		}
+	}
+
+}
@@ -185,7 +185,7 @@ public class PatternCompiler {
 	 * Adds a {@link PatternElement} to the end of the list given by the first parameter.
 	 * Returns the new first element of the list.
 	 */
-	private static PatternElement appendElement(@Nullable PatternElement first, PatternElement next) {
+	static PatternElement appendElement(@Nullable PatternElement first, PatternElement next) {
 		if (first == null || (first instanceof LiteralPatternElement && first.next == null && ((LiteralPatternElement) first).isEmpty())) {
 			return next;
 		} else {
@@ -37,6 +37,10 @@ public class RegexPatternElement extends PatternElement {
 		this.pattern = pattern;
 	}
 
+	Pattern getPattern() {
+		return pattern;
+	}
+
 	@Override
 	@Nullable
 	public MatchResult match(String expr, MatchResult matchResult) {
@@ -68,6 +68,13 @@ public class SkriptPattern {
 		return match(expr, SkriptParser.ALL_FLAGS, ParseContext.DEFAULT);
 	}
 
+	/**
+	 * @return the first link of the {@link PatternElement} chain of this pattern
+	 */
+	PatternElement getFirst() {
+		return first;
+	}
+
 	@Override
 	public String toString() {
 		return first.toFullString();
@@ -267,6 +267,10 @@ public class TypePatternElement extends PatternElement {
 		return stringBuilder.append("%").toString();
 	}
 
+	int getExpressionIndex() {
+		return expressionIndex;
+	}
+
 	public ExprInfo getExprInfo() {
 		ExprInfo exprInfo = new ExprInfo(classes.length);
 		for (int i = 0; i < classes.length; i++) {
@@ -27,6 +27,7 @@ import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.TriggerItem;
 import ch.njol.skript.lang.Variable;
 import ch.njol.skript.lang.util.ContainerExpression;
+import ch.njol.skript.timings.TriggerBudget;
 import ch.njol.skript.util.Container;
 import ch.njol.skript.util.Container.ContainerType;
 import ch.njol.skript.util.LiteralUtils;
@@ -88,6 +89,9 @@ public class SecLoop extends Section {
 	@Override
 	@Nullable
 	protected TriggerItem walk(Event e) {
+		// Continue in the next tick if the trigger has been running for too long, the position is kept in currentIter
+		if (TriggerBudget.isExceeded(e) && TriggerBudget.postpone(this, e))
+			return null;
 		Iterator<?> iter = currentIter.get(e);
 		if (iter == null) {
 			iter = expr instanceof Variable ? ((Variable<?>) expr).variablesIterator(e) : expr.iterator(e);
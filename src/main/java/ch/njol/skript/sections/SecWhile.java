@@ -25,6 +25,7 @@ import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.Section;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.TriggerItem;
+import ch.njol.skript.timings.TriggerBudget;
 import ch.njol.util.Kleenean;
 import org.bukkit.event.Event;
 import org.eclipse.jdt.annotation.Nullable;
@@ -69,6 +70,8 @@ public class SecWhile extends Section {
 	@Nullable
 	@Override
 	protected TriggerItem walk(Event e) {
+		if (TriggerBudget.isExceeded(e) && TriggerBudget.postpone(this, e))
+			return null;
 		if ((doWhile && !ranDoWhile) || condition.check(e)) {
 			ranDoWhile = true;
 			return walk(e, true);
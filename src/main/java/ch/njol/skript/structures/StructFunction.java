@@ -54,20 +54,26 @@ import java.util.regex.Pattern;
 	"\treturn {_amount} of apple",
 	"",
 	"function getPoints(p: player) returns number:",
-	"\treturn {points::%{_p}%}"
+	"\treturn {points::%{_p}%}",
+	"",
+	"# the result for each amount of experience is remembered, so later calls don't run the function again",
+	"cached function tierFor(xp: number) :: text:",
+	"\tif {_xp} >= 1000:",
+	"\t\treturn \"gold\"",
+	"\treturn \"bronze\""
 })
-@Since("2.2, 2.7 (local functions)")
+@Since("2.2, 2.7 (local functions), INSERT VERSION (cached functions)")
 public class StructFunction extends Structure {
 
 	public static final Priority PRIORITY = new Priority(400);
 
 	private static final Pattern SIGNATURE_PATTERN =
-			Pattern.compile("^(?:local )?function (" + Functions.functionNamePattern + ")\\((.*?)\\)(?:\\s*(?:::| returns )\\s*(.+))?$");
+			Pattern.compile("^(?:local )?(?:cached )?function (" + Functions.functionNamePattern + ")\\((.*?)\\)(?:\\s*(?:::| returns )\\s*(.+))?$");
 	private static final AtomicBoolean VALIDATE_FUNCTIONS = new AtomicBoolean();
 
 	static {
 		Skript.registerStructure(StructFunction.class,
-			"[:local] function <.+>"
+			"[:local] [:cached] function <.+>"
 		);
 	}
 
@@ -76,12 +82,14 @@ public class StructFunction extends Structure {
 	@Nullable
 	private Signature<?> signature;
 	private boolean local;
+	private boolean cached;
 
 	@Override
 	public boolean init(Literal<?>[] literals, int matchedPattern, ParseResult parseResult, @Nullable EntryContainer entryContainer) {
 		assert entryContainer != null; // cannot be null for non-simple structures
 		this.source = entryContainer.getSource();
 		local = parseResult.hasTag("local");
+		cached = parseResult.hasTag("cached");
 		return true;
 	}
 
@@ -102,7 +110,7 @@ public class StructFunction extends Structure {
 		getParser().setCurrentEvent((local ? "local " : "") + "function", FunctionEvent.class);
 		signature = Functions.parseSignature(
 			getParser().getCurrentScript().getConfig().getFileName(),
-			matcher.group(1), matcher.group(2), matcher.group(3), local
+			matcher.group(1), matcher.group(2), matcher.group(3), local, cached
 		);
 		getParser().deleteCurrentEvent();
 
@@ -149,7 +157,7 @@ public class StructFunction extends Structure {
 
 	@Override
 	public String toString(@Nullable Event event, boolean debug) {
-		return (local ? "local " : "") + "function";
+		return (local ? "local " : "") + (cached ? "cached " : "") + "function";
 	}
 
 }
@@ -0,0 +1,78 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.test.runner;
+
+import org.bukkit.Bukkit;
+import org.bukkit.block.Block;
+import org.bukkit.event.Event;
+import org.bukkit.event.block.BlockDispenseEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.Vector;
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.aliases.ItemType;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.NoDoc;
+import ch.njol.skript.lang.Effect;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.util.Kleenean;
+
+@Name("Call Dispense Event")
+@Description("Calls a dispense event for an item, without the block actually dispensing anything.")
+@NoDoc
+public class EffCallDispense extends Effect {
+
+	static {
+		if (TestMode.ENABLED)
+			Skript.registerEffect(EffCallDispense.class, "call [a] dispense event (for|of) %itemtype% (at|from) %block%");
+	}
+
+	@SuppressWarnings("NotNullFieldNotInitialized")
+	private Expression<ItemType> item;
+	@SuppressWarnings("NotNullFieldNotInitialized")
+	private Expression<Block> block;
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean isDelayed, ParseResult parseResult) {
+		item = (Expression<ItemType>) exprs[0];
+		block = (Expression<Block>) exprs[1];
+		return true;
+	}
+
+	@Override
+	protected void execute(Event event) {
+		ItemType item = this.item.getSingle(event);
+		Block block = this.block.getSingle(event);
+		if (item == null || block == null)
+			return;
+		ItemStack itemStack = item.getRandom();
+		if (itemStack != null)
+			Bukkit.getPluginManager().callEvent(new BlockDispenseEvent(block, itemStack, new Vector()));
+	}
+
+	@Override
+	public String toString(@Nullable Event event, boolean debug) {
+		return "call a dispense event for " + item.toString(event, debug) + " at " + block.toString(event, debug);
+	}
+
+}
@@ -0,0 +1,76 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.test.runner;
+
+import org.bukkit.event.Event;
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.NoDoc;
+import ch.njol.skript.lang.Effect;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.timings.TriggerBudget;
+import ch.njol.skript.util.Timespan;
+import ch.njol.util.Kleenean;
+
+@Name("Test Loop Time Budget")
+@Description({
+	"Sets the loop time budget for tests, or resets it to the value of the config.",
+	"Tests that set it should reset it before they finish, as it applies to all tests that run after them."
+})
+@NoDoc
+public class EffTriggerBudget extends Effect {
+
+	static {
+		if (TestMode.ENABLED)
+			Skript.registerEffect(EffTriggerBudget.class,
+				"set [the] test loop time budget to %timespan%",
+				"reset [the] test loop time budget"
+			);
+	}
+
+	@Nullable
+	private Expression<Timespan> budget;
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean isDelayed, ParseResult parseResult) {
+		budget = matchedPattern == 0 ? (Expression<Timespan>) exprs[0] : null;
+		return true;
+	}
+
+	@Override
+	protected void execute(Event event) {
+		Timespan budget = this.budget != null ? this.budget.getSingle(event) : SkriptConfig.loopTimeBudget.value();
+		if (budget != null)
+			TriggerBudget.setBudget(budget);
+	}
+
+	@Override
+	public String toString(@Nullable Event event, boolean debug) {
+		if (budget == null)
+			return "reset the test loop time budget";
+		return "set the test loop time budget to " + budget.toString(event, debug);
+	}
+
+}
@@ -0,0 +1,90 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.test.runner;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.NoDoc;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.ExpressionType;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.util.SimpleExpression;
+import ch.njol.skript.metrics.Counter;
+import ch.njol.skript.metrics.Gauge;
+import ch.njol.skript.metrics.Histogram;
+import ch.njol.skript.metrics.Metric;
+import ch.njol.skript.metrics.SkriptMetrics;
+import ch.njol.util.Kleenean;
+import org.bukkit.event.Event;
+import org.eclipse.jdt.annotation.Nullable;
+
+@Name("Metric Value")
+@Description({
+	"The current value of a metric, identified by its name and labels, e.g. 'trigger_executions_total{event=\"PlayerJoinEvent\"}'.",
+	"This is the value of counters and gauges, or the number of recorded values of histograms. Metrics that don't exist yet are 0."
+})
+@NoDoc
+public class ExprMetricValue extends SimpleExpression<Long> {
+
+	static {
+		if (TestMode.ENABLED)
+			Skript.registerExpression(ExprMetricValue.class, Long.class, ExpressionType.COMBINED, "[the] value of [the] metric %string%");
+	}
+
+	private Expression<String> id;
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean isDelayed, ParseResult parseResult) {
+		id = (Expression<String>) exprs[0];
+		return true;
+	}
+
+	@Override
+	protected @Nullable Long[] get(Event event) {
+		String id = this.id.getSingle(event);
+		if (id == null)
+			return new Long[0];
+		Metric metric = SkriptMetrics.get(id);
+		if (metric instanceof Counter)
+			return new Long[]{((Counter) metric).get()};
+		if (metric instanceof Gauge)
+			return new Long[]{((Gauge) metric).get()};
+		if (metric instanceof Histogram)
+			return new Long[]{((Histogram) metric).getCount()};
+		return new Long[]{0L};
+	}
+
+	@Override
+	public boolean isSingle() {
+		return true;
+	}
+
+	@Override
+	public Class<? extends Long> getReturnType() {
+		return Long.class;
+	}
+
+	@Override
+	public String toString(@Nullable Event event, boolean debug) {
+		return "the value of the metric " + id.toString(event, debug);
+	}
+
+}
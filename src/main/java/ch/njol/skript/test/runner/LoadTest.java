@@ -0,0 +1,245 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.test.runner;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.event.Event;
+import org.eclipse.jdt.annotation.Nullable;
+import org.skriptlang.skript.lang.script.Script;
+
+import com.google.gson.GsonBuilder;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptEventHandler;
+import ch.njol.skript.lang.Trigger;
+import ch.njol.skript.metrics.Histogram;
+import ch.njol.skript.metrics.SkriptMetrics;
+import ch.njol.skript.test.utils.LoadTestResults;
+import ch.njol.skript.test.utils.LoadTestResults.TriggerResult;
+import ch.njol.skript.util.Task;
+
+/**
+ * Load tests the loaded scripts by firing synthetic events at them every tick,
+ * see {@link TestMode#LOAD_TEST} and the related properties.
+ * <p>
+ * The triggers listening to the fired events are executed directly, one after another, and each execution is timed.
+ * Code after a delay in a trigger runs later and is not part of the measured latency.
+ */
+public final class LoadTest extends Task {
+
+	private static final class Target {
+
+		final Class<? extends Event> eventClass;
+		final Constructor<? extends Event> constructor;
+		final List<Trigger> triggers;
+
+		Target(Class<? extends Event> eventClass, Constructor<? extends Event> constructor, List<Trigger> triggers) {
+			this.eventClass = eventClass;
+			this.constructor = constructor;
+			this.triggers = triggers;
+		}
+
+	}
+
+	private static final class TriggerStats {
+
+		final String name;
+		final String event;
+		final Histogram latency;
+		long filtered;
+
+		TriggerStats(String name, String event) {
+			this.name = name;
+			this.event = event;
+			this.latency = SkriptMetrics.histogram("load_test_trigger_latency", SkriptMetrics.label("trigger", name),
+				"Latency of triggers executed by the load test", "nanoseconds");
+		}
+
+	}
+
+	private final List<Target> targets;
+	private final Map<Trigger, TriggerStats> stats = new IdentityHashMap<>();
+	private final int rate;
+	private final int warmup;
+	private final int duration;
+
+	private int tick;
+	private long events;
+	private long startTime;
+
+	private LoadTest(List<Target> targets, int rate, int warmup, int duration) {
+		super(Skript.getInstance(), 1, 1);
+		this.targets = targets;
+		this.rate = rate;
+		this.warmup = warmup;
+		this.duration = duration;
+	}
+
+	/**
+	 * Starts a load test with the settings given by {@link TestMode}. Scripts must have been loaded already.
+	 *
+	 * @return In how many ticks the load test will be done, or 0 if it could not be started, which fails the test run
+	 */
+	public static long start() {
+		List<Target> targets = new ArrayList<>();
+		for (String name : TestMode.LOAD_TEST_EVENTS.split(",")) {
+			name = name.trim();
+			if (name.isEmpty())
+				continue;
+			Target target = getTarget(name);
+			if (target == null)
+				return 0;
+			if (target.triggers.isEmpty()) {
+				Skript.warning("No loaded trigger listens to " + name + ", it will not be fired during the load test");
+				continue;
+			}
+			targets.add(target);
+		}
+		if (targets.isEmpty()) {
+			Skript.error("There is nothing to load test");
+			return 0;
+		}
+
+		int rate = Math.max(1, TestMode.LOAD_TEST_RATE);
+		int warmup = Math.max(0, TestMode.LOAD_TEST_WARMUP);
+		int duration = Math.max(1, TestMode.LOAD_TEST_DURATION);
+		Skript.info("Starting load test: " + rate + " events per tick for " + warmup + " ticks of warmup and " + duration + " measured ticks");
+		new LoadTest(targets, rate, warmup, duration);
+		return warmup + duration + 1;
+	}
+
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private static Target getTarget(String name) {
+		Class<?> eventClass;
+		try {
+			eventClass = Class.forName(name);
+		} catch (ClassNotFoundException e) {
+			Skript.error("The event class " + name + " does not exist");
+			return null;
+		}
+		if (!Event.class.isAssignableFrom(eventClass)) {
+			Skript.error(name + " is not an event class");
+			return null;
+		}
+		Constructor<? extends Event> constructor;
+		try {
+			constructor = (Constructor<? extends Event>) eventClass.getConstructor();
+		} catch (NoSuchMethodException e) {
+			Skript.error("The event class " + name + " needs a public constructor without parameters to be load tested");
+			return null;
+		}
+		Class<? extends Event> event = (Class<? extends Event>) eventClass;
+		return new Target(event, constructor, SkriptEventHandler.getTriggers(event));
+	}
+
+	@Override
+	public void run() {
+		if (tick == warmup) {
+			// Forget the warmup
+			for (TriggerStats triggerStats : stats.values())
+				SkriptMetrics.remove(triggerStats.latency);
+			stats.clear();
+			events = 0;
+			startTime = System.nanoTime();
+		}
+		if (tick == warmup + duration) {
+			cancel();
+			finish(System.nanoTime() - startTime);
+			return;
+		}
+		tick++;
+
+		for (Target target : targets) {
+			for (int i = 0; i < rate; i++) {
+				Event event;
+				try {
+					event = target.constructor.newInstance();
+				} catch (ReflectiveOperationException e) {
+					Skript.exception(e, "Failed to create an event of class " + target.eventClass.getName());
+					cancel();
+					return;
+				}
+				events++;
+				for (Trigger trigger : target.triggers)
+					execute(trigger, event, target.eventClass);
+			}
+		}
+	}
+
+	private void execute(Trigger trigger, Event event, Class<? extends Event> eventClass) {
+		TriggerStats triggerStats = stats.get(trigger);
+		if (triggerStats == null) {
+			triggerStats = new TriggerStats(getName(trigger), eventClass.getSimpleName());
+			stats.put(trigger, triggerStats);
+		}
+		long start = System.nanoTime();
+		if (!trigger.getEvent().check(event)) {
+			triggerStats.filtered++;
+			return;
+		}
+		trigger.execute(event);
+		triggerStats.latency.record(System.nanoTime() - start);
+	}
+
+	private static String getName(Trigger trigger) {
+		Script script = trigger.getScript();
+		String file = script == null ? "<unknown>" : script.getConfig().getFileName();
+		int line = trigger.getLineNumber();
+		return file + (line == -1 ? "" : ":" + line) + " " + trigger.getDebugLabel();
+	}
+
+	private void finish(long time) {
+		double seconds = time / 1e9;
+		List<TriggerResult> results = new ArrayList<>();
+		for (TriggerStats triggerStats : stats.values()) {
+			Histogram latency = triggerStats.latency;
+			long executions = latency.getCount();
+			results.add(new TriggerResult(triggerStats.name, triggerStats.event, executions, triggerStats.filtered,
+				executions / seconds,
+				executions == 0 ? 0 : latency.getSum() / (double) executions / 1000,
+				micros(latency.getQuantile(0.5)), micros(latency.getQuantile(0.9)),
+				micros(latency.getQuantile(0.99)), micros(latency.getMax())));
+		}
+		results.sort((a, b) -> Double.compare(b.getMean() * b.getExecutions(), a.getMean() * a.getExecutions()));
+
+		LoadTestResults loadTestResults = new LoadTestResults(rate, TimeUnit.NANOSECONDS.toMillis(time), events, results);
+		Skript.info("Load test done\n" + loadTestResults.createReport());
+		Skript.info("Writing load test results to " + TestMode.LOAD_TEST_RESULTS);
+		try {
+			Files.write(TestMode.LOAD_TEST_RESULTS, new GsonBuilder().setPrettyPrinting().create().toJson(loadTestResults).getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			Skript.exception(e, "Failed to write load test results.");
+		}
+	}
+
+	private static long micros(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+
+}
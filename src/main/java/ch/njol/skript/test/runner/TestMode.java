@@ -74,6 +74,37 @@ public class TestMode {
 	 */
 	public static final boolean JUNIT = "true".equals(System.getProperty(ROOT + "junit"));
 
+	/**
+	 * Instead of only running the test cases once, repeatedly fire events at the loaded scripts
+	 * and report the throughput and latency of every trigger, see {@link LoadTest}.
+	 */
+	public static final boolean LOAD_TEST = ENABLED && !DEV_MODE && "true".equals(System.getProperty(ROOT + "loadTest"));
+
+	/**
+	 * Comma separated names of the event classes fired during a load test. Each needs a public no-argument constructor.
+	 */
+	public static final String LOAD_TEST_EVENTS = System.getProperty(ROOT + "loadTest.events", SkriptTestEvent.class.getName());
+
+	/**
+	 * How many events of each class are fired per tick during a load test.
+	 */
+	public static final int LOAD_TEST_RATE = Integer.getInteger(ROOT + "loadTest.rate", 100);
+
+	/**
+	 * For how many ticks events are fired before measuring starts, to let the JIT compiler warm up.
+	 */
+	public static final int LOAD_TEST_WARMUP = Integer.getInteger(ROOT + "loadTest.warmup", 100);
+
+	/**
+	 * For how many ticks events are fired and measured during a load test.
+	 */
+	public static final int LOAD_TEST_DURATION = Integer.getInteger(ROOT + "loadTest.duration", 600);
+
+	/**
+	 * Path to file where to save load test results in JSON format, as in {@link ch.njol.skript.test.utils.LoadTestResults}.
+	 */
+	public static final Path LOAD_TEST_RESULTS = LOAD_TEST ? Paths.get(System.getProperty(ROOT + "loadTest.results", "load_test_results.json")) : null;
+
 	/**
 	 * In development mode, file that was last run.
 	 */
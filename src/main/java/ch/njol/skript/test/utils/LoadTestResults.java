@@ -0,0 +1,159 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.test.utils;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Contains the results of a load test, per trigger. Will be serialized with Gson
+ * so that they can be compared between runs, e.g. by continuous integration.
+ */
+public class LoadTestResults {
+
+	/**
+	 * Measurements of a single trigger. Latencies are in microseconds.
+	 */
+	public static class TriggerResult {
+
+		private final String trigger;
+		private final String event;
+		private final long executions;
+		private final long filtered;
+		private final double throughput;
+		private final double mean;
+		private final long p50, p90, p99, max;
+
+		public TriggerResult(String trigger, String event, long executions, long filtered, double throughput,
+							 double mean, long p50, long p90, long p99, long max) {
+			this.trigger = trigger;
+			this.event = event;
+			this.executions = executions;
+			this.filtered = filtered;
+			this.throughput = throughput;
+			this.mean = mean;
+			this.p50 = p50;
+			this.p90 = p90;
+			this.p99 = p99;
+			this.max = max;
+		}
+
+		public String getTrigger() {
+			return trigger;
+		}
+
+		public String getEvent() {
+			return event;
+		}
+
+		/**
+		 * @return How often the trigger was executed while measuring
+		 */
+		public long getExecutions() {
+			return executions;
+		}
+
+		/**
+		 * @return How often the trigger's event did not match the fired event
+		 */
+		public long getFiltered() {
+			return filtered;
+		}
+
+		/**
+		 * @return Executions per second of measured time
+		 */
+		public double getThroughput() {
+			return throughput;
+		}
+
+		public double getMean() {
+			return mean;
+		}
+
+		public long getP50() {
+			return p50;
+		}
+
+		public long getP90() {
+			return p90;
+		}
+
+		public long getP99() {
+			return p99;
+		}
+
+		public long getMax() {
+			return max;
+		}
+
+	}
+
+	/**
+	 * Events fired per tick and event class.
+	 */
+	private final int rate;
+
+	/**
+	 * Measured time in milliseconds.
+	 */
+	private final long duration;
+
+	/**
+	 * Number of events fired while measuring.
+	 */
+	private final long events;
+
+	private final List<TriggerResult> triggers;
+
+	public LoadTestResults(int rate, long duration, long events, List<TriggerResult> triggers) {
+		this.rate = rate;
+		this.duration = duration;
+		this.events = events;
+		this.triggers = triggers;
+	}
+
+	public int getRate() {
+		return rate;
+	}
+
+	public long getDuration() {
+		return duration;
+	}
+
+	public long getEvents() {
+		return events;
+	}
+
+	public List<TriggerResult> getTriggers() {
+		return triggers;
+	}
+
+	public String createReport() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format(Locale.ENGLISH, "Fired %d events in %.1f seconds (%d per tick and event)%n", events, duration / 1000.0, rate));
+		sb.append(String.format(Locale.ENGLISH, "%12s %12s %10s %8s %8s %8s %8s  %s%n", "executions", "per second", "mean (us)", "p50", "p90", "p99", "max", "trigger"));
+		for (TriggerResult result : triggers) {
+			sb.append(String.format(Locale.ENGLISH, "%12d %12.1f %10.1f %8d %8d %8d %8d  %s (%s)%n",
+				result.executions, result.throughput, result.mean, result.p50, result.p90, result.p99, result.max, result.trigger, result.event));
+		}
+		return sb.toString();
+	}
+
+}
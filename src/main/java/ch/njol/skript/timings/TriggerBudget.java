@@ -0,0 +1,137 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.timings;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.effects.Delay;
+import ch.njol.skript.lang.Trigger;
+import ch.njol.skript.lang.TriggerItem;
+import ch.njol.skript.lang.function.FunctionEvent;
+import ch.njol.skript.metrics.Counter;
+import ch.njol.skript.metrics.SkriptMetrics;
+import ch.njol.skript.util.Timespan;
+import ch.njol.skript.variables.Variables;
+
+/**
+ * Limits how long loops may keep the server thread busy in a single tick.
+ * <p>
+ * While a budget is set, {@link TriggerItem#walk(TriggerItem, Event)} records when the outermost script execution
+ * on the server thread started. Once that execution has been running for longer than the budget, loops postpone
+ * their next iteration to the next tick, keeping their position and the local variables like a delay does.
+ */
+public final class TriggerBudget {
+
+	private static final Counter OVERRUNS = SkriptMetrics.counter("trigger_budget_overruns_total",
+		"Loops continued in the next tick because their trigger ran out of time");
+
+	/**
+	 * The budget in nanoseconds, 0 if loops are never postponed.
+	 */
+	private static volatile long budget;
+
+	/**
+	 * The number of nested executions running on the server thread.
+	 */
+	private static int depth;
+	private static long start;
+
+	private TriggerBudget() {}
+
+	/**
+	 * @param budget How long a trigger may run in a single tick before its loops are postponed, 0 to disable this
+	 */
+	public static void setBudget(Timespan budget) {
+		TriggerBudget.budget = TimeUnit.MILLISECONDS.toNanos(budget.getMilliSeconds());
+	}
+
+	/**
+	 * @return Whether executions on the current thread are tracked. Checked once per execution.
+	 */
+	public static boolean isTracking() {
+		return budget != 0 && Bukkit.isPrimaryThread();
+	}
+
+	/**
+	 * Marks the start of an execution on the server thread.
+	 */
+	public static void enter() {
+		if (depth++ == 0)
+			start = System.nanoTime();
+	}
+
+	/**
+	 * Marks the end of the innermost execution on the server thread.
+	 */
+	public static void exit() {
+		depth--;
+	}
+
+	/**
+	 * Only the outermost execution can be postponed. Nested ones, e.g. function calls, must complete before their caller continues.
+	 * Functions are never postponed, even if they are the outermost execution because they were called from Java,
+	 * as the caller needs their return value right away.
+	 *
+	 * @param event The event of the execution
+	 * @return Whether the execution running on the current thread has used up its budget and can be postponed
+	 */
+	public static boolean isExceeded(Event event) {
+		long budget = TriggerBudget.budget;
+		return budget != 0 && depth == 1 && !(event instanceof FunctionEvent) && Bukkit.isPrimaryThread()
+			&& System.nanoTime() - start > budget;
+	}
+
+	/**
+	 * Continues the execution at the given item in the next tick.
+	 *
+	 * @param item The item to continue at, usually the loop that ran out of time
+	 * @param event The event of the execution
+	 * @return Whether the execution was postponed, in which case the caller must stop walking
+	 */
+	public static boolean postpone(TriggerItem item, Event event) {
+		if (!Skript.getInstance().isEnabled())
+			return false;
+		OVERRUNS.increment();
+		Trigger trigger = item.getTrigger();
+		if (trigger != null)
+			trigger.countBudgetOverrun();
+
+		Delay.addDelayedEvent(event);
+		Object localVars = Variables.removeLocals(event);
+		Bukkit.getScheduler().scheduleSyncDelayedTask(Skript.getInstance(), () -> {
+			if (localVars != null)
+				Variables.setLocalVariables(event, localVars);
+
+			Object timing = null;
+			if (SkriptTimings.enabled() && trigger != null)
+				timing = SkriptTimings.start(trigger.getDebugLabel());
+
+			TriggerItem.walk(item, event);
+			Variables.removeLocals(event); // Clean up local vars, we may be exiting now
+
+			SkriptTimings.stop(timing);
+		}, 1);
+		return true;
+	}
+
+}
@@ -0,0 +1,385 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.timings;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import com.sun.management.ThreadMXBean;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.skriptlang.skript.lang.script.Script;
+
+import ch.njol.skript.lang.Trigger;
+import ch.njol.skript.lang.TriggerItem;
+import ch.njol.skript.lang.TriggerSection;
+
+/**
+ * A sampling profiler for script code.
+ * <p>
+ * While running, {@link TriggerItem#walk(TriggerItem, org.bukkit.event.Event)} publishes the item it is currently executing
+ * on the profiled thread. A background thread samples these items at a fixed interval and attributes the elapsed
+ * wall time and the bytes allocated by the profiled thread to the sampled stack of script lines.
+ * The executing thread never measures anything itself, so the overhead is a single array write per item.
+ * <p>
+ * Results are written in the folded stack format used by flame graph tools, one file for wall time and one for allocations.
+ */
+public final class TriggerProfiler {
+
+	/**
+	 * Nested trigger executions (e.g. function calls) deeper than this are attributed to the deepest tracked frame.
+	 */
+	private static final int MAX_DEPTH = 64;
+
+	private static volatile boolean running;
+	@Nullable
+	private static volatile Thread profiledThread;
+
+	private static final AtomicReferenceArray<TriggerItem> frames = new AtomicReferenceArray<>(MAX_DEPTH);
+	private static volatile int depth;
+
+	@Nullable
+	private static Sampler sampler;
+
+	private TriggerProfiler() {}
+
+	/**
+	 * @return Whether the current thread is being profiled. Checked once per trigger execution.
+	 */
+	public static boolean isProfiling() {
+		return running && Thread.currentThread() == profiledThread;
+	}
+
+	/**
+	 * Marks the start of a trigger execution on the profiled thread.
+	 */
+	public static void enter() {
+		depth++;
+	}
+
+	/**
+	 * Marks the given item as the one being executed by the innermost trigger execution.
+	 */
+	public static void step(TriggerItem item) {
+		int index = depth - 1;
+		if (index >= 0 && index < MAX_DEPTH)
+			frames.lazySet(index, item);
+	}
+
+	/**
+	 * Marks the end of the innermost trigger execution.
+	 */
+	public static void exit() {
+		int index = depth - 1;
+		if (index < 0) // Profiler was restarted during this execution
+			return;
+		if (index < MAX_DEPTH)
+			frames.lazySet(index, null);
+		depth = index;
+	}
+
+	public static boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Starts profiling the given thread, which usually is the server thread.
+	 *
+	 * @param thread The thread to profile
+	 * @param interval Time between two samples, in microseconds
+	 * @return False if the profiler is already running
+	 */
+	public static synchronized boolean start(Thread thread, long interval) {
+		if (running)
+			return false;
+		for (int i = 0; i < MAX_DEPTH; i++)
+			frames.set(i, null);
+		depth = 0;
+		profiledThread = thread;
+		Sampler sampler = new Sampler(thread, TimeUnit.MICROSECONDS.toNanos(interval));
+		TriggerProfiler.sampler = sampler;
+		running = true;
+		sampler.start();
+		return true;
+	}
+
+	/**
+	 * Stops the profiler and returns the collected samples.
+	 *
+	 * @return The result, or null if the profiler was not running
+	 */
+	@Nullable
+	public static synchronized Result stop() {
+		Sampler sampler = TriggerProfiler.sampler;
+		if (!running || sampler == null)
+			return null;
+		running = false;
+		TriggerProfiler.sampler = null;
+		sampler.interrupt();
+		try {
+			sampler.join(TimeUnit.SECONDS.toMillis(5));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		profiledThread = null;
+		return sampler.result();
+	}
+
+	/**
+	 * Samples collected by a profiler run.
+	 */
+	public static final class Result {
+
+		private final Map<String, long[]> stacks;
+		private final long interval;
+		private final long duration;
+		private final boolean allocationsTracked;
+
+		Result(Map<String, long[]> stacks, long interval, long duration, boolean allocationsTracked) {
+			this.stacks = stacks;
+			this.interval = interval;
+			this.duration = duration;
+			this.allocationsTracked = allocationsTracked;
+		}
+
+		/**
+		 * @return The number of samples taken while script code was running
+		 */
+		public long getSampleCount() {
+			long count = 0;
+			for (long[] values : stacks.values())
+				count += values[0];
+			return count;
+		}
+
+		/**
+		 * @return How long the profiler ran, in milliseconds
+		 */
+		public long getDuration() {
+			return TimeUnit.NANOSECONDS.toMillis(duration);
+		}
+
+		public boolean areAllocationsTracked() {
+			return allocationsTracked;
+		}
+
+		/**
+		 * Sums up samples by their innermost frame, i.e. by script line.
+		 *
+		 * @param limit Maximum number of lines to return
+		 * @return The lines with the most samples, each with its estimated time in milliseconds and allocated bytes
+		 */
+		public List<Map.Entry<String, long[]>> getHottestLines(int limit) {
+			Map<String, long[]> lines = new HashMap<>();
+			for (Map.Entry<String, long[]> entry : stacks.entrySet()) {
+				String stack = entry.getKey();
+				String line = stack.substring(stack.lastIndexOf(';') + 1);
+				long[] values = lines.computeIfAbsent(line, k -> new long[2]);
+				values[0] += entry.getValue()[0];
+				values[1] += entry.getValue()[1];
+			}
+			List<Map.Entry<String, long[]>> hottest = new ArrayList<>(lines.entrySet());
+			hottest.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+			if (hottest.size() > limit)
+				hottest = hottest.subList(0, limit);
+			for (Map.Entry<String, long[]> entry : hottest)
+				entry.getValue()[0] = TimeUnit.NANOSECONDS.toMillis(entry.getValue()[0] * interval);
+			return hottest;
+		}
+
+		/**
+		 * Writes the samples to the given folder in folded stack format.
+		 *
+		 * @param folder Folder to write to, will be created if needed
+		 * @return The written files: wall time (in microseconds per stack) and, if tracked, allocated bytes per stack
+		 */
+		public File[] dump(File folder) throws IOException {
+			if (!folder.isDirectory() && !folder.mkdirs())
+				throw new IOException("Can't create the folder " + folder);
+			String name = "profile-" + new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+			File time = new File(folder, name + "-time.folded");
+			write(time, 0, TimeUnit.NANOSECONDS.toMicros(interval));
+			if (!allocationsTracked)
+				return new File[] {time};
+			File allocations = new File(folder, name + "-alloc.folded");
+			write(allocations, 1, 1);
+			return new File[] {time, allocations};
+		}
+
+		private void write(File file, int index, long multiplier) throws IOException {
+			try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+				for (Map.Entry<String, long[]> entry : stacks.entrySet()) {
+					long value = entry.getValue()[index] * multiplier;
+					if (value == 0)
+						continue;
+					writer.write(entry.getKey());
+					writer.write(' ');
+					writer.write(Long.toString(value));
+					writer.newLine();
+				}
+			}
+		}
+
+	}
+
+	private static final class Sampler extends Thread {
+
+		private final long threadId;
+		private final long interval;
+		private final long startTime = System.nanoTime();
+
+		@Nullable
+		private final ThreadMXBean threadBean;
+
+		/**
+		 * Samples per folded stack: sample count and allocated bytes.
+		 * Concurrent, as the results are read while the sampler still runs if it doesn't stop in time.
+		 */
+		private final Map<String, long[]> stacks = new ConcurrentHashMap<>();
+		private final Map<TriggerItem, String> labels = new IdentityHashMap<>();
+		private final TriggerItem[] snapshot = new TriggerItem[MAX_DEPTH];
+		private final StringBuilder builder = new StringBuilder();
+
+		private volatile long endTime;
+
+		Sampler(Thread thread, long interval) {
+			super("Skript profiler");
+			setDaemon(true);
+			this.threadId = thread.getId();
+			this.interval = interval;
+			this.threadBean = getThreadBean();
+		}
+
+		@Nullable
+		private static ThreadMXBean getThreadBean() {
+			try {
+				java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+				if (bean instanceof ThreadMXBean) {
+					ThreadMXBean threadBean = (ThreadMXBean) bean;
+					if (threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled())
+						return threadBean;
+				}
+			} catch (LinkageError | UnsupportedOperationException e) {
+				// JVM without allocation tracking, just sample time
+			}
+			return null;
+		}
+
+		@Override
+		public void run() {
+			ThreadMXBean threadBean = this.threadBean;
+			long allocated = threadBean != null ? threadBean.getThreadAllocatedBytes(threadId) : 0;
+			while (running && !isInterrupted()) {
+				LockSupport.parkNanos(interval);
+
+				long allocatedDelta = 0;
+				if (threadBean != null) {
+					long now = threadBean.getThreadAllocatedBytes(threadId);
+					allocatedDelta = now - allocated;
+					allocated = now;
+				}
+
+				int size = 0;
+				int depth = Math.min(TriggerProfiler.depth, MAX_DEPTH);
+				for (int i = 0; i < depth; i++) {
+					TriggerItem item = frames.get(i);
+					if (item == null)
+						break;
+					snapshot[size++] = item;
+				}
+				if (size == 0) // No script code running, bytes allocated by other code are not attributed
+					continue;
+
+				long[] values = stacks.computeIfAbsent(fold(size), k -> new long[2]);
+				values[0]++;
+				values[1] += allocatedDelta;
+			}
+			endTime = System.nanoTime();
+		}
+
+		/**
+		 * Builds the folded stack from the trigger down to the executing item for each tracked execution.
+		 */
+		private String fold(int size) {
+			StringBuilder builder = this.builder;
+			builder.setLength(0);
+			List<TriggerItem> path = new ArrayList<>();
+			for (int i = 0; i < size; i++) {
+				path.clear();
+				TriggerItem item = snapshot[i];
+				while (item != null) {
+					path.add(item);
+					item = item.getParent();
+				}
+				for (int j = path.size() - 1; j >= 0; j--) {
+					if (builder.length() > 0)
+						builder.append(';');
+					builder.append(labels.computeIfAbsent(path.get(j), Sampler::label));
+				}
+			}
+			return builder.toString();
+		}
+
+		private static String label(TriggerItem item) {
+			Trigger trigger = item.getTrigger();
+			String file = "<unknown>";
+			if (trigger != null) {
+				Script script = trigger.getScript();
+				if (script != null)
+					file = script.getConfig().getFileName();
+			}
+			String label;
+			if (item instanceof Trigger) {
+				label = file + ": " + ((Trigger) item).getDebugLabel();
+			} else {
+				int line = item.getLineNumber();
+				label = file + ":" + (line == -1 ? "?" : line) + " " + (item instanceof TriggerSection ? "section " : "") + item;
+			}
+			// Separators of the folded format must not appear in frames
+			return label.replace(';', ',').replace('\n', ' ');
+		}
+
+		/**
+		 * @return A copy of the samples taken so far
+		 */
+		Result result() {
+			long end = endTime;
+			Map<String, long[]> stacks = new HashMap<>();
+			this.stacks.forEach((stack, values) -> stacks.put(stack, values.clone()));
+			return new Result(stacks, interval, (end == 0 ? System.nanoTime() : end) - startTime, threadBean != null);
+		}
+
+	}
+
+}
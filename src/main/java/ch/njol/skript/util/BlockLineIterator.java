@@ -40,14 +40,22 @@ public class BlockLineIterator extends StoppableIterator<Block> {
 		super(new BlockIterator(start.getWorld(), fitInWorld(start.getLocation().add(0.5, 0.5, 0.5), end.getLocation().subtract(start.getLocation()).toVector()),
 				end.equals(start) ? new Vector(1, 0, 0) : end.getLocation().subtract(start.getLocation()).toVector(), 0, 0), // should prevent an error if start = end
 		new NullableChecker<Block>() {
-			private final double overshotSq = Math.pow(start.getLocation().distance(end.getLocation()) + 2, 2);
+			private final int startX = start.getX(), startY = start.getY(), startZ = start.getZ();
+			private final int endX = end.getX(), endY = end.getY(), endZ = end.getZ();
+			private final double overshotSq = Math.pow(Math.sqrt(distanceSquared(endX, endY, endZ)) + 2, 2);
+			
+			private long distanceSquared(int x, int y, int z) {
+				long dx = x - startX, dy = y - startY, dz = z - startZ;
+				return dx * dx + dy * dy + dz * dz;
+			}
 			
 			@Override
 			public boolean check(@Nullable Block block) {
 				assert block != null;
-				if (block.getLocation().distanceSquared(start.getLocation()) > overshotSq)
+				int x = block.getX(), y = block.getY(), z = block.getZ();
+				if (distanceSquared(x, y, z) > overshotSq)
 					throw new IllegalStateException("BlockLineIterator missed the end block!");
-				return block.equals(end);
+				return x == endX && y == endY && z == endZ;
 			}
 		}, true);
 	}
@@ -61,10 +69,14 @@ public class BlockLineIterator extends StoppableIterator<Block> {
 	public BlockLineIterator(Location start, Vector direction, double distance) throws IllegalStateException {
 		super(new BlockIterator(start.getWorld(), fitInWorld(start, direction), direction, 0, 0), new NullableChecker<Block>() {
 			private final double distSq = distance * distance;
+			private final double startX = start.getX(), startY = start.getY(), startZ = start.getZ();
 			
 			@Override
 			public boolean check(final @Nullable Block b) {
-				return b != null && b.getLocation().add(0.5, 0.5, 0.5).distanceSquared(start) >= distSq;
+				if (b == null)
+					return false;
+				double dx = b.getX() + 0.5 - startX, dy = b.getY() + 0.5 - startY, dz = b.getZ() + 0.5 - startZ;
+				return dx * dx + dy * dy + dz * dz >= distSq;
 			}
 		}, false);
 	}
@@ -18,27 +18,124 @@
  */
 package ch.njol.skript.util;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
-import org.eclipse.jdt.annotation.Nullable;
 
 import ch.njol.skript.Skript;
-import ch.njol.util.NullableChecker;
-import ch.njol.util.coll.iterator.CheckedIterator;
+import ch.njol.skript.bukkitutil.WorldUtils;
 
 /**
+ * Iterates over all blocks whose centre lies within a sphere.
+ * <p>
+ * Instead of filtering the sphere's bounding box, the span of every row (fixed y and z) is computed up front,
+ * so only blocks inside the sphere are visited and no locations are allocated per block.
+ * Blocks are returned in the same order as an {@link AABB} iterator would (x fastest, then z, then y).
+ * 
  * @author Peter Güttinger
  */
-public class BlockSphereIterator extends CheckedIterator<Block> {
+public class BlockSphereIterator implements Iterator<Block> {
+	
+	private final World world;
+	private final double centerX, centerY, centerZ;
+	private final double rSquared;
+	
+	private final int minY, maxY, minZ, maxZ;
+	
+	private int y, z;
+	/**
+	 * Current position in the current row and the last x coordinate of the row. The row is empty if {@code x > rowMaxX}.
+	 */
+	private int x, rowMaxX;
+	/**
+	 * Squared distances of the current row to the center on the y and z axes
+	 */
+	private double dySquared, dzSquared;
 	
+	@SuppressWarnings("null")
 	public BlockSphereIterator(final Location center, final double radius) {
-		super(new AABB(center, radius + 0.5001, radius + 0.5001, radius + 0.5001).iterator(), new NullableChecker<Block>() {
-			private final double rSquared = radius * radius * Skript.EPSILON_MULT;
-			
-			@Override
-			public boolean check(final @Nullable Block b) {
-				return b != null && center.distanceSquared(b.getLocation().add(0.5, 0.5, 0.5)) < rSquared;
+		world = center.getWorld();
+		centerX = center.getX();
+		centerY = center.getY();
+		centerZ = center.getZ();
+		rSquared = radius * radius * Skript.EPSILON_MULT;
+		
+		final double r = radius + 0.5001;
+		minY = (int) Math.ceil(Math.max(centerY - r, WorldUtils.getWorldMinHeight(world)));
+		maxY = (int) Math.floor(Math.min(centerY + r, world.getMaxHeight() - 1));
+		minZ = (int) Math.ceil(centerZ - r);
+		maxZ = (int) Math.floor(centerZ + r);
+		
+		y = minY;
+		z = minZ - 1;
+		x = 1;
+		rowMaxX = 0;
+		advance();
+	}
+	
+	/**
+	 * Moves to the next non-empty row if the current one is exhausted.
+	 */
+	private void advance() {
+		while (x > rowMaxX) {
+			z++;
+			if (z > maxZ) {
+				z = minZ;
+				y++;
 			}
-		});
+			if (y > maxY)
+				return;
+			final double dy = centerY - (y + 0.5), dz = centerZ - (z + 0.5);
+			dySquared = dy * dy;
+			dzSquared = dz * dz;
+			final double remaining = rSquared - dySquared - dzSquared;
+			if (remaining <= 0)
+				continue;
+			final double halfWidth = Math.sqrt(remaining), offset = centerX - 0.5;
+			int min = (int) Math.floor(offset - halfWidth) + 1, max = (int) Math.ceil(offset + halfWidth) - 1;
+			// correct rounding errors of sqrt so the row contains exactly the blocks passing the distance check
+			while (min <= max && !inRow(min))
+				min++;
+			while (inRow(min - 1))
+				min--;
+			while (max >= min && !inRow(max))
+				max--;
+			while (inRow(max + 1))
+				max++;
+			x = min;
+			rowMaxX = max;
+		}
+	}
+	
+	/**
+	 * Same check as {@code center.distanceSquared(block.getLocation().add(0.5, 0.5, 0.5)) < rSquared}, for the current row.
+	 */
+	private boolean inRow(final int x) {
+		final double dx = centerX - (x + 0.5);
+		return dx * dx + dySquared + dzSquared < rSquared;
 	}
+	
+	@Override
+	public boolean hasNext() {
+		return y <= maxY;
+	}
+	
+	@Override
+	public Block next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		final Block b = world.getBlockAt(x, y, z);
+		x++;
+		advance();
+		return b;
+	}
+	
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+	
 }
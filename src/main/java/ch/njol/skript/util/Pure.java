@@ -0,0 +1,167 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.skriptlang.skript.lang.comparator.ComparatorInfo;
+import org.skriptlang.skript.lang.comparator.Comparators;
+import org.skriptlang.skript.lang.converter.Converters;
+
+/**
+ * A syntax element that has no side effects and doesn't depend on the state of the server,
+ * so that it can be evaluated on any thread, including by multiple threads at once.
+ * Like a {@link Contract}, this is a helper for syntax elements that evaluate other syntax elements,
+ * e.g. to evaluate them in parallel for large lists.
+ */
+public interface Pure {
+
+	/**
+	 * Lists with fewer elements are not worth the overhead of evaluating pure elements for them in parallel.
+	 */
+	int PARALLEL_THRESHOLD = 4096;
+
+	/**
+	 * The types of values pure elements can work with on any thread: texts, numbers and booleans.
+	 * Other types, e.g. locations, can be converted to types whose values belong to a world, so they are left out.
+	 */
+	Set<Class<?>> THREAD_SAFE_TYPES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+		String.class, Boolean.class, Long.class, Double.class, Integer.class, Float.class, Short.class, Byte.class,
+		BigInteger.class, BigDecimal.class
+	)));
+
+	/**
+	 * Elements that evaluate other elements are usually only pure if those are pure as well, see {@link #isPure(Object...)}.
+	 * Elements that convert or compare values must also make sure that only {@link #isPureConversion(Class) pure conversions}
+	 * and {@link #isPureComparison(Class, Class) pure comparisons} are used.
+	 *
+	 * @return Whether this element is pure, given that it is evaluated for {@link #isThreadSafe(Object) thread-safe} values.
+	 */
+	boolean isPure();
+
+	/**
+	 * @param elements Syntax elements, null ones are ignored
+	 * @return Whether all the given elements are {@link Pure} and pure
+	 */
+	static boolean isPure(@Nullable Object... elements) {
+		for (Object element : elements) {
+			if (element != null && !(element instanceof Pure && ((Pure) element).isPure()))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return Whether the value is of one of the {@link #THREAD_SAFE_TYPES}
+	 */
+	static boolean isThreadSafe(@Nullable Object value) {
+		return value != null && THREAD_SAFE_TYPES.contains(value.getClass());
+	}
+
+	/**
+	 * @return Whether converting {@link #isThreadSafe(Object) thread-safe} values to the given type is pure,
+	 * i.e. if it either doesn't need a converter or only converts numbers to other numbers.
+	 */
+	static boolean isPureConversion(Class<?> to) {
+		for (Class<?> from : THREAD_SAFE_TYPES) {
+			if (to.isAssignableFrom(from) || Number.class.isAssignableFrom(from) && Number.class.isAssignableFrom(to))
+				continue;
+			if (Converters.converterExists(from, to))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Checks the comparators {@link Comparators#compare(Object, Object)} would use
+	 * for any {@link #isThreadSafe(Object) thread-safe} values of the given types.
+	 * Only comparators that are registered for texts, numbers or booleans themselves are pure,
+	 * as comparators resolved for other types might convert the values first.
+	 *
+	 * @param first The type of the first values, or Object if it is only known when comparing them
+	 * @param second The type of the second values, or Object if it is only known when comparing them
+	 * @return Whether comparing values of the given types is pure
+	 */
+	static boolean isPureComparison(Class<?> first, Class<?> second) {
+		if (!hasThreadSafeValues(first) || !hasThreadSafeValues(second))
+			return false;
+		// The comparator resolved for the types themselves, as used by comparisons that look it up when parsing
+		if (first != Object.class && second != Object.class && !isPureComparator(Comparators.getComparatorInfo(first, second)))
+			return false;
+		for (Class<?> firstType : THREAD_SAFE_TYPES) {
+			if (!first.isAssignableFrom(firstType))
+				continue;
+			for (Class<?> secondType : THREAD_SAFE_TYPES) {
+				if (second.isAssignableFrom(secondType) && !isPureComparator(Comparators.getComparatorInfo(firstType, secondType)))
+					return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param info A comparator resolved by {@link Comparators#getComparatorInfo(Class, Class)}, or null if there is none
+	 * @return Whether the comparator is registered for thread-safe types or is the default one using equals
+	 */
+	static boolean isPureComparator(@Nullable ComparatorInfo<?, ?> info) {
+		if (info == null)
+			return true;
+		// Registering a comparator for two objects isn't allowed, so this is the one using equals
+		if (info.getFirstType() == Object.class && info.getSecondType() == Object.class)
+			return true;
+		return Comparators.getComparatorInfos().contains(info)
+			&& isThreadSafeType(info.getFirstType()) && isThreadSafeType(info.getSecondType());
+	}
+
+	/**
+	 * @return Whether all values of the given type are {@link #isThreadSafe(Object) thread-safe},
+	 * or the type is Object, as such values are checked by {@link #isParallelizable(Object[])} before evaluating pure elements.
+	 */
+	static boolean hasThreadSafeValues(Class<?> type) {
+		return type == Object.class || isThreadSafeType(type);
+	}
+
+	/**
+	 * @return Whether the type is one of the {@link #THREAD_SAFE_TYPES} or Number
+	 */
+	static boolean isThreadSafeType(Class<?> type) {
+		return type == Number.class || THREAD_SAFE_TYPES.contains(type);
+	}
+
+	/**
+	 * @return Whether pure elements should be evaluated in parallel for the given values,
+	 * i.e. whether there are at least {@link #PARALLEL_THRESHOLD} of them and all are {@link #isThreadSafe(Object) thread-safe}.
+	 */
+	static boolean isParallelizable(Object[] values) {
+		if (values.length < PARALLEL_THRESHOLD)
+			return false;
+		for (Object value : values) {
+			if (!isThreadSafe(value))
+				return false;
+		}
+		return true;
+	}
+
+}
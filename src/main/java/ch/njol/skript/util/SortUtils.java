@@ -0,0 +1,159 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.skriptlang.skript.lang.comparator.Comparators;
+import org.skriptlang.skript.lang.comparator.Relation;
+
+import ch.njol.skript.expressions.ExprSortedList;
+
+/**
+ * Sorts values in the order used by {@link ExprSortedList#compare(Object, Object)}.
+ * <p>
+ * Instead of looking up the comparator for each pair of values, the comparator is looked up once
+ * if all sort keys are of the same type, and once per pair of types otherwise.
+ * Large lists of texts or numbers, whose comparators don't depend on any server state, are sorted in parallel.
+ */
+public final class SortUtils {
+
+	/**
+	 * Arrays with at least this many elements are sorted in parallel if their type allows it.
+	 */
+	private static final int PARALLEL_THRESHOLD = 8192;
+
+	private SortUtils() {}
+
+	/**
+	 * Sorts the given values in place.
+	 *
+	 * @throws IllegalArgumentException If the values can't be compared to each other
+	 * @throws ClassCastException If the values can't be compared to each other
+	 */
+	public static void sort(Object[] values) throws IllegalArgumentException, ClassCastException {
+		Class<?> type = getCommonType(values);
+		Comparator<Object> comparator = type != null ? getComparator(type, type) : new MixedComparator();
+		if (values.length >= PARALLEL_THRESHOLD && isThreadSafe(type)) {
+			Arrays.parallelSort(values, comparator);
+		} else {
+			Arrays.sort(values, comparator);
+		}
+	}
+
+	/**
+	 * Sorts the given values in place by their sort keys, keeping the order of values with equal keys.
+	 * Each key is only computed once by the caller, rather than once per comparison.
+	 *
+	 * @param values The values to sort
+	 * @param keys The sort key of each value, at the same position as the value
+	 * @throws IllegalArgumentException If the keys can't be compared to each other
+	 * @throws ClassCastException If the keys can't be compared to each other
+	 */
+	public static void sort(Object[] values, Object[] keys) throws IllegalArgumentException, ClassCastException {
+		assert values.length == keys.length;
+		Class<?> type = getCommonType(keys);
+		Comparator<Object> keyComparator = type != null ? getComparator(type, type) : new MixedComparator();
+		Comparator<Keyed> comparator = (a, b) -> keyComparator.compare(a.key, b.key);
+
+		Keyed[] keyed = new Keyed[values.length];
+		for (int i = 0; i < values.length; i++)
+			keyed[i] = new Keyed(keys[i], values[i]);
+		// Both sorts are stable
+		if (keyed.length >= PARALLEL_THRESHOLD && isThreadSafe(type)) {
+			Arrays.parallelSort(keyed, comparator);
+		} else {
+			Arrays.sort(keyed, comparator);
+		}
+		for (int i = 0; i < values.length; i++)
+			values[i] = keyed[i].value;
+	}
+
+	/**
+	 * @return The class of all values, or null if they are of different classes
+	 */
+	@Nullable
+	private static Class<?> getCommonType(Object[] values) {
+		if (values.length == 0)
+			return Object.class;
+		Class<?> type = values[0].getClass();
+		for (Object value : values) {
+			if (value.getClass() != type)
+				return null;
+		}
+		return type;
+	}
+
+	private static boolean isThreadSafe(@Nullable Class<?> type) {
+		return type == String.class || type == Long.class || type == Double.class || type == Integer.class
+			|| type == Float.class || type == Short.class || type == Byte.class;
+	}
+
+	/**
+	 * @return The ordering {@link ExprSortedList#compare(Object, Object)} uses for values of the given classes
+	 */
+	@SuppressWarnings("unchecked")
+	private static Comparator<Object> getComparator(Class<?> first, Class<?> second) {
+		if (first == String.class && second == String.class)
+			return (a, b) -> Relation.get(((String) a).compareToIgnoreCase((String) b)).getRelation();
+		org.skriptlang.skript.lang.comparator.Comparator<Object, Object> comparator =
+			Comparators.getComparator((Class<Object>) first, (Class<Object>) second);
+		if (comparator != null && comparator.supportsOrdering())
+			return (a, b) -> comparator.compare(a, b).getRelation();
+		if (!Comparable.class.isAssignableFrom(first)) {
+			return (a, b) -> {
+				throw new IllegalArgumentException("Cannot compare " + first);
+			};
+		}
+		return (a, b) -> ((Comparable<Object>) a).compareTo(b);
+	}
+
+	/**
+	 * Compares values of different classes, looking up the ordering once for each pair of classes.
+	 */
+	private static final class MixedComparator implements Comparator<Object> {
+
+		private final Map<Class<?>, Map<Class<?>, Comparator<Object>>> comparators = new HashMap<>();
+
+		@Override
+		public int compare(Object a, Object b) {
+			return comparators.computeIfAbsent(a.getClass(), first -> new HashMap<>())
+				.computeIfAbsent(b.getClass(), second -> getComparator(a.getClass(), second))
+				.compare(a, b);
+		}
+
+	}
+
+	private static final class Keyed {
+
+		private final Object key;
+		private final Object value;
+
+		Keyed(Object key, Object value) {
+			this.key = key;
+			this.value = value;
+		}
+
+	}
+
+}
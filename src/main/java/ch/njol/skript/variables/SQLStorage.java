@@ -25,6 +25,7 @@ import java.sql.SQLException;
 import java.util.Map.Entry;
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
@@ -35,6 +36,8 @@ import ch.njol.skript.classes.ClassInfo;
 import ch.njol.skript.classes.Serializer;
 import ch.njol.skript.config.SectionNode;
 import ch.njol.skript.log.SkriptLogger;
+import ch.njol.skript.metrics.Histogram;
+import ch.njol.skript.metrics.SkriptMetrics;
 import ch.njol.skript.registrations.Classes;
 import ch.njol.skript.util.Task;
 import ch.njol.skript.util.Timespan;
@@ -280,12 +283,17 @@ public abstract class SQLStorage extends VariablesStorage {
 			@Override
 			public void run() {
 				long lastCommit;
+				Histogram commitLatency = SkriptMetrics.histogram("variables_sql_commit_latency", SkriptMetrics.label("database", databaseName),
+					"Time taken to commit a transaction of variable changes", "microseconds");
 				while (!closed) {
 					synchronized (db) {
 						final Database db = SQLStorage.this.db.get();
 						try {
-							if (db != null)
+							if (db != null) {
+								long start = System.nanoTime();
 								db.getConnection().commit();
+								commitLatency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+							}
 						} catch (final SQLException e) {
 							sqlException(e);
 						}
@@ -0,0 +1,604 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.variables;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.Lock;
+
+import org.bukkit.OfflinePlayer;
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.SkriptConfig;
+
+/**
+ * A branch of the variable tree, holding the elements of a list variable sorted by their indices.
+ * The {@code null} key holds the value of the variable named like the list itself, if any.
+ * <p>
+ * Most lists are filled by adding elements, which gives them the indices 1 to n. A branch tracks how long this
+ * run of consecutive indices is, so that the next free index is known without searching the tree for it.
+ * This only works if the branch is modified using {@link #put(String, Object)}, {@link #remove(Object)},
+ * {@link #putAll(Map)} and {@link #clear()}, which is what {@link VariablesMap} does.
+ * The same goes for {@link #elementIterator()}, {@link #findIndices(Object)} and the element counts.
+ */
+public final class VariableBranch extends TreeMap<String, Object> {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The indices 1 to this number are all set, but the next one is not.
+	 */
+	private int consecutive;
+
+	/**
+	 * Incremented whenever a key is added or removed, which invalidates iterators of the underlying tree.
+	 */
+	private int version;
+
+	/**
+	 * The number of elements of this list, i.e. indices holding a value or a sublist that has a value itself.
+	 */
+	private int elementCount;
+
+	/**
+	 * The number of values in this branch and all branches below it, including the value of the list itself.
+	 */
+	private int recursiveSize;
+
+	/**
+	 * The branch holding this one, if it is a sublist.
+	 */
+	@Nullable
+	private transient VariableBranch parent;
+
+	/**
+	 * Whether this branch was removed from the variables or replaced, so that it doesn't change with the list variable anymore.
+	 */
+	private transient boolean detached;
+
+	/**
+	 * The number of elements that are texts, numbers and players, by {@link ValueKind#ordinal()}, followed by the number of other elements.
+	 */
+	private int[] kindCounts = new int[ValueKind.VALUES.length + 1];
+
+	/**
+	 * Lists with fewer elements than this are searched instead of being indexed by value.
+	 */
+	private static final int MIN_INDEXED_SIZE = 16;
+
+	/**
+	 * Reverse index from values to the indices holding them, published by the first {@link #findIndices(Object)} that can use it.
+	 * Only writers change it afterwards, which keeps it up to date even while elements that don't belong to it make it unusable.
+	 */
+	@Nullable
+	private transient volatile ValueIndex valueIndex;
+
+	private static final AtomicReferenceFieldUpdater<VariableBranch, ValueIndex> VALUE_INDEX =
+		AtomicReferenceFieldUpdater.newUpdater(VariableBranch.class, ValueIndex.class, "valueIndex");
+
+	VariableBranch() {
+		super(VariablesMap.VARIABLE_NAME_COMPARATOR);
+	}
+
+	/**
+	 * @return The lowest positive integer index that is not set in this list.
+	 */
+	public int nextFreeIndex() {
+		return consecutive + 1;
+	}
+
+	/**
+	 * @return The number of elements of this list, i.e. the number of values the list variable has,
+	 * without the ones of sublists that don't have a value themselves.
+	 */
+	public int getElementCount() {
+		return elementCount;
+	}
+
+	/**
+	 * @return The number of values in this list and all of its sublists, including the value of the list itself.
+	 */
+	public int getRecursiveSize() {
+		return recursiveSize;
+	}
+
+	/**
+	 * Returns an iterator over the elements of this list, i.e. all entries except the one with the {@code null} key.
+	 * Unlike iterators of the tree, it does not need a copy of the keys to be safe if the list is modified while iterating.
+	 * <p>
+	 * The iterator is weakly consistent: it returns every element that is still in the list when the iterator gets to it,
+	 * including changed values, but never returns elements after the last one the list had when the iterator was created,
+	 * so that adding elements to the list that is being iterated does not prolong the iteration.
+	 * Other elements added while iterating may or may not be returned.
+	 * If the branch is {@linkplain #isDetached() detached} meanwhile, the iterator continues with the elements it had then.
+	 *
+	 * @return An iterator over the elements of this list, which does not support removal.
+	 */
+	public Iterator<Map.Entry<String, Object>> elementIterator() {
+		return new ElementIterator();
+	}
+
+	/**
+	 * A branch is detached when its list variable is deleted or replaced, e.g. by setting the list while it is being looped.
+	 * The branch itself isn't changed by that, so iterators of it have to look up the elements' current values instead.
+	 *
+	 * @return Whether this branch is no longer part of the variables.
+	 */
+	public boolean isDetached() {
+		return detached;
+	}
+
+	/**
+	 * Marks this branch and all branches below it as no longer being part of the variables.
+	 */
+	void detach() {
+		detached = true;
+		for (Object value : values()) {
+			if (value instanceof VariableBranch)
+				((VariableBranch) value).detach();
+		}
+	}
+
+	/**
+	 * @return Whether all elements of this list are texts, all are numbers or all are players, and there are enough of them
+	 * for {@link #findIndices(Object)} to be used. Such a list has no sublists, so its elements are the values of the list variable.
+	 */
+	public boolean isIndexable() {
+		int elements = size() - (containsKey(null) ? 1 : 0);
+		if (elements < MIN_INDEXED_SIZE)
+			return false;
+		for (ValueKind kind : ValueKind.VALUES) {
+			if (kindCounts[kind.ordinal()] == elements)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Finds the indices of all elements equal to the given value, as determined by the comparators of the value's type,
+	 * without comparing the value to each element.
+	 * <p>
+	 * This only works for texts, numbers and players, whose comparators agree with a hash of the value
+	 * (case-insensitively for texts if the config says so, and for whole numbers only), and only if all elements
+	 * of this list are of the same kind as the value. Otherwise, the caller has to compare the elements itself.
+	 *
+	 * <p>
+	 * The list is read while holding {@link Variables#getReadLock()}, so global lists can be searched from any thread.
+	 * A missing index is built completely before it is published, and is only changed by writers afterwards.
+	 *
+	 * @param value The value to search for
+	 * @return The indices of the elements equal to the value in ascending order, possibly empty,
+	 * or null if this list can't be searched this way. The collection is a copy, which doesn't change with the list.
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public Collection<String> findIndices(Object value) {
+		ValueKind kind = ValueKind.of(value);
+		if (kind == null)
+			return null;
+		boolean caseSensitive = SkriptConfig.caseSensitive.value();
+		Object hash = kind.hash(value, caseSensitive);
+		if (hash == null)
+			return null;
+		Lock lock = Variables.getReadLock();
+		lock.lock();
+		try {
+			if (size() < MIN_INDEXED_SIZE)
+				return null;
+			if (kindCounts[kind.ordinal()] != size() - (containsKey(null) ? 1 : 0))
+				return null; // Some elements are of a different kind, which is known without building an index
+			ValueIndex index = valueIndex;
+			// A different kind only gets here once all elements were replaced, which is worth a new index
+			if (index == null || index.kind != kind || index.caseSensitive != caseSensitive) {
+				ValueIndex built = new ValueIndex(kind, caseSensitive);
+				// Other readers may be building one at the same time, either is as good as the other
+				VALUE_INDEX.compareAndSet(this, index, built);
+				index = built;
+			}
+			if (index.unindexed > 0)
+				return null; // This list holds something that doesn't have a hash, e.g. a fractional number
+			Object indices = index.indices.get(hash);
+			if (indices == null)
+				return Collections.emptyList();
+			if (indices instanceof String)
+				return Collections.singletonList((String) indices);
+			return new ArrayList<>((TreeSet<String>) indices);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private final class ElementIterator implements Iterator<Map.Entry<String, Object>> {
+
+		private final Iterator<Map.Entry<String, Object>> entries = entrySet().iterator();
+		private final int expectedVersion = version;
+
+		/**
+		 * The last key at the time this iterator was created, no later key will be returned.
+		 */
+		@Nullable
+		private final String lastKey = isEmpty() ? null : lastKey();
+
+		/**
+		 * The key of the last entry returned or skipped.
+		 */
+		@Nullable
+		private String key;
+
+		private Map.@Nullable Entry<String, Object> next;
+		private boolean done;
+
+		@Override
+		public boolean hasNext() {
+			if (next != null)
+				return true;
+			if (done)
+				return false;
+			Map.Entry<String, Object> entry;
+			do {
+				if (version == expectedVersion) {
+					// Nothing was added or removed, continue iterating the tree directly
+					entry = entries.hasNext() ? entries.next() : null;
+				} else {
+					// Find the entry after the last one, in the tree as it is now
+					entry = higherEntry(key);
+					if (entry != null && (lastKey == null || comparator().compare(entry.getKey(), lastKey) > 0))
+						entry = null;
+				}
+				if (entry == null) {
+					done = true;
+					return false;
+				}
+				key = entry.getKey();
+			} while (key == null);
+			next = entry;
+			return true;
+		}
+
+		@Override
+		public Map.Entry<String, Object> next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			Map.Entry<String, Object> entry = next;
+			assert entry != null;
+			next = null;
+			return entry;
+		}
+
+	}
+
+	@Override
+	@Nullable
+	public Object put(@Nullable String key, Object value) {
+		Object old = super.put(key, value);
+		if (old == null) {
+			version++;
+			if (toIndex(key) == consecutive + 1)
+				extendConsecutive();
+		}
+		updateCounts(key, old, value);
+		ValueIndex index = valueIndex;
+		if (index != null && key != null) {
+			if (old != null && !index.remove(key, old))
+				valueIndex = null; // The index doesn't match the list anymore
+			else
+				index.add(key, value);
+		}
+		return old;
+	}
+
+	@Override
+	@Nullable
+	public Object remove(@Nullable Object key) {
+		Object old = super.remove(key);
+		if (old != null) {
+			version++;
+			int index = toIndex(key);
+			if (index > 0 && index <= consecutive)
+				consecutive = index - 1;
+			updateCounts((String) key, old, null);
+			ValueIndex valueIndex = this.valueIndex;
+			if (valueIndex != null && key != null && !valueIndex.remove((String) key, old))
+				this.valueIndex = null;
+		}
+		return old;
+	}
+
+	@Override
+	public void putAll(Map<? extends String, ?> map) {
+		Object value = get(null);
+		for (Object key : map.keySet())
+			unlink(get(key));
+		super.putAll(map); // May bypass put(...)
+		version++;
+		consecutive = 0;
+		extendConsecutive();
+		valueIndex = null;
+		recount(value);
+	}
+
+	@Override
+	public void clear() {
+		Object value = get(null);
+		for (Object child : values())
+			unlink(child);
+		super.clear();
+		version++;
+		consecutive = 0;
+		valueIndex = null;
+		recount(value);
+	}
+
+	/**
+	 * Updates the element counts of this branch and the ones above it after a single entry changed.
+	 */
+	private void updateCounts(@Nullable String key, @Nullable Object oldValue, @Nullable Object newValue) {
+		if (oldValue == newValue)
+			return;
+		unlink(oldValue);
+		if (newValue instanceof VariableBranch)
+			((VariableBranch) newValue).parent = this;
+		if (key == null) {
+			// The value of this list itself, which makes it count as an element of the parent list
+			if (parent != null && (oldValue == null) != (newValue == null))
+				parent.elementCount += newValue == null ? -1 : 1;
+		} else {
+			elementCount += elementCountOf(newValue) - elementCountOf(oldValue);
+			if (oldValue != null)
+				kindCounts[kindOf(oldValue)]--;
+			if (newValue != null)
+				kindCounts[kindOf(newValue)]++;
+		}
+		addRecursiveSize(recursiveSizeOf(newValue) - recursiveSizeOf(oldValue));
+	}
+
+	/**
+	 * Counts all entries again after the tree was modified in bulk.
+	 *
+	 * @param oldValue The value of this list itself before the modification
+	 */
+	private void recount(@Nullable Object oldValue) {
+		int elementCount = 0, recursiveSize = 0;
+		Arrays.fill(kindCounts, 0);
+		for (Map.Entry<String, Object> entry : entrySet()) {
+			Object value = entry.getValue();
+			if (value instanceof VariableBranch)
+				((VariableBranch) value).parent = this;
+			if (entry.getKey() != null) {
+				elementCount += elementCountOf(value);
+				kindCounts[kindOf(value)]++;
+			}
+			recursiveSize += recursiveSizeOf(value);
+		}
+		this.elementCount = elementCount;
+		Object newValue = get(null);
+		if (parent != null && (oldValue == null) != (newValue == null))
+			parent.elementCount += newValue == null ? -1 : 1;
+		addRecursiveSize(recursiveSize - this.recursiveSize);
+	}
+
+	private void unlink(@Nullable Object child) {
+		if (child instanceof VariableBranch && ((VariableBranch) child).parent == this)
+			((VariableBranch) child).parent = null;
+	}
+
+	private void addRecursiveSize(int delta) {
+		if (delta == 0)
+			return;
+		for (VariableBranch branch = this; branch != null; branch = branch.parent)
+			branch.recursiveSize += delta;
+	}
+
+	private static int elementCountOf(@Nullable Object value) {
+		if (value instanceof VariableBranch)
+			return ((VariableBranch) value).get(null) != null ? 1 : 0;
+		return value != null ? 1 : 0;
+	}
+
+	/**
+	 * @return The index of the element's kind in {@link #kindCounts}
+	 */
+	private static int kindOf(Object value) {
+		ValueKind kind = ValueKind.of(value);
+		return kind != null ? kind.ordinal() : ValueKind.VALUES.length;
+	}
+
+	private static int recursiveSizeOf(@Nullable Object value) {
+		if (value instanceof VariableBranch)
+			return ((VariableBranch) value).recursiveSize;
+		return value != null ? 1 : 0;
+	}
+
+	private void extendConsecutive() {
+		while (containsKey(Integer.toString(consecutive + 1)))
+			consecutive++;
+	}
+
+	/**
+	 * @return The index as a number if it is written like a positive integer without leading zeroes
+	 * (other strings are different keys for the variable name comparator), or -1.
+	 */
+	private static int toIndex(@Nullable Object key) {
+		if (!(key instanceof String))
+			return -1;
+		String string = (String) key;
+		int length = string.length();
+		if (length == 0 || length > 9 || string.charAt(0) == '0')
+			return -1;
+		int index = 0;
+		for (int i = 0; i < length; i++) {
+			char c = string.charAt(i);
+			if (c < '0' || c > '9')
+				return -1;
+			index = index * 10 + (c - '0');
+		}
+		return index;
+	}
+
+	/**
+	 * The kinds of values whose comparators agree with a hash of the value, as long as values of different kinds aren't compared.
+	 */
+	private enum ValueKind {
+
+		STRING {
+			@Override
+			Object hash(Object value, boolean caseSensitive) {
+				if (caseSensitive)
+					return value;
+				// Folds each character like String#equalsIgnoreCase compares them
+				StringBuilder folded = new StringBuilder(((String) value).length());
+				((String) value).codePoints().forEach(c -> folded.appendCodePoint(Character.toLowerCase(Character.toUpperCase(c))));
+				return folded.toString();
+			}
+		},
+
+		NUMBER {
+			@Override
+			@Nullable
+			Object hash(Object value, boolean caseSensitive) {
+				// Numbers are compared with a tolerance, which only keeps whole numbers apart from each other
+				double number = ((Number) value).doubleValue();
+				if (number != Math.rint(number) || Math.abs(number) > MAX_EXACT_LONG)
+					return null;
+				return (long) number;
+			}
+		},
+
+		PLAYER {
+			@Override
+			@Nullable
+			Object hash(Object value, boolean caseSensitive) {
+				return ((OfflinePlayer) value).getName();
+			}
+		};
+
+		/**
+		 * Longs beyond this can't be converted to doubles exactly, which makes them equal to their neighbours for the comparator.
+		 */
+		private static final double MAX_EXACT_LONG = 1L << 53;
+
+		static final ValueKind[] VALUES = values();
+
+		/**
+		 * @return The hash of a value of this kind, or null if it doesn't have one that agrees with its comparator
+		 */
+		@Nullable
+		abstract Object hash(Object value, boolean caseSensitive);
+
+		@Nullable
+		static ValueKind of(Object value) {
+			if (value instanceof String)
+				return STRING;
+			if (value instanceof Long || value instanceof Integer || value instanceof Double
+					|| value instanceof Float || value instanceof Short || value instanceof Byte)
+				return NUMBER;
+			if (value instanceof OfflinePlayer)
+				return PLAYER;
+			return null;
+		}
+
+	}
+
+	private final class ValueIndex {
+
+		private final ValueKind kind;
+		private final boolean caseSensitive;
+
+		/**
+		 * The indices holding each hash, either a single index or a sorted set of them.
+		 */
+		private final HashMap<Object, Object> indices = new HashMap<>();
+
+		/**
+		 * The number of elements that don't have a hash of this index's kind. The index can only be used if there are none.
+		 */
+		private int unindexed;
+
+		ValueIndex(ValueKind kind, boolean caseSensitive) {
+			this.kind = kind;
+			this.caseSensitive = caseSensitive;
+			for (Map.Entry<String, Object> entry : entrySet()) {
+				String key = entry.getKey();
+				if (key != null)
+					add(key, entry.getValue());
+			}
+		}
+
+		/**
+		 * Adds an element to this index, or counts it as unindexed if the value doesn't have a hash of this index's kind.
+		 */
+		@SuppressWarnings("unchecked")
+		void add(String key, Object value) {
+			Object hash = hash(value);
+			if (hash == null) {
+				unindexed++;
+				return;
+			}
+			Object existing = indices.putIfAbsent(hash, key);
+			if (existing instanceof String) {
+				TreeSet<String> set = new TreeSet<>(VariablesMap.VARIABLE_NAME_COMPARATOR);
+				set.add((String) existing);
+				set.add(key);
+				indices.put(hash, set);
+			} else if (existing != null) {
+				((TreeSet<String>) existing).add(key);
+			}
+		}
+
+		/**
+		 * Removes an element from this index.
+		 *
+		 * @return False if this index doesn't match the list anymore, in which case it should be rebuilt
+		 */
+		boolean remove(String key, Object value) {
+			Object hash = hash(value);
+			if (hash == null) {
+				unindexed--;
+				return unindexed >= 0;
+			}
+			Object existing = indices.get(hash);
+			if (existing instanceof TreeSet) {
+				TreeSet<?> set = (TreeSet<?>) existing;
+				if (!set.remove(key))
+					return false;
+				if (set.size() == 1)
+					indices.put(hash, set.first());
+				return true;
+			}
+			// The hash of a value only changes if it isn't a safe one after all, e.g. a player's name being updated
+			return key.equals(existing) && indices.remove(hash) != null;
+		}
+
+		@Nullable
+		private Object hash(Object value) {
+			return ValueKind.of(value) == kind ? kind.hash(value, caseSensitive) : null;
+		}
+
+	}
+
+}
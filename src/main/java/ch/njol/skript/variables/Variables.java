@@ -28,6 +28,7 @@ import ch.njol.skript.config.Node;
 import ch.njol.skript.config.SectionNode;
 import ch.njol.skript.lang.Variable;
 import ch.njol.skript.log.SkriptLogger;
+import ch.njol.skript.metrics.SkriptMetrics;
 import ch.njol.skript.registrations.Classes;
 import ch.njol.skript.variables.SerializedVariable.Value;
 import ch.njol.util.Kleenean;
@@ -48,6 +49,7 @@ import com.google.common.collect.Multimap;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -552,6 +554,80 @@ public class Variables {
 		}
 	}
 
+	/**
+	 * Sets multiple variables at once, in the given order. This is equivalent to calling
+	 * {@link #setVariable(String, Object, Event, boolean)} for each of them, e.g. to delete a list variable
+	 * and set all of its new elements, but global variables are all set under one lock acquisition
+	 * and their serialized values are handed to the storages together.
+	 *
+	 * @param names the variables' names. Can contain "list variable::*" names, but their value must be {@code null}.
+	 * @param values the variables' values, at the same positions as their names. Use {@code null} elements
+	 *                  to delete variables. This array will be modified.
+	 * @param event if {@code local} is {@code true}, this is the event
+	 *                 the local variables reside in.
+	 * @param local if these variables are local or global variables.
+	 */
+	public static void setVariables(String[] names, Object[] values, @Nullable Event event, boolean local) {
+		assert names.length == values.length;
+		String[] lowerCaseNames = caseInsensitiveVariables ? new String[names.length] : names;
+		Class<?> lastType = null;
+		Class<?> lastSerializeAs = null;
+		for (int i = 0; i < names.length; i++) {
+			if (caseInsensitiveVariables)
+				lowerCaseNames[i] = names[i].toLowerCase(Locale.ENGLISH);
+
+			// Check if conversion is needed due to ClassInfo#getSerializeAs, elements of a list usually share their type
+			Object value = values[i];
+			if (value == null)
+				continue;
+			assert !names[i].endsWith("::*");
+			if (value.getClass() != lastType) {
+				lastType = value.getClass();
+				lastSerializeAs = Classes.getSuperClassInfo(lastType).getSerializeAs();
+			}
+			if (lastSerializeAs != null) {
+				values[i] = Converters.convert(value, lastSerializeAs);
+				assert values[i] != null : lastType + ", " + lastSerializeAs;
+			}
+		}
+
+		if (local) {
+			assert event != null : Arrays.toString(names);
+
+			VariablesMap map = localVariables.computeIfAbsent(event, e -> new VariablesMap());
+			for (int i = 0; i < names.length; i++)
+				map.setVariable(lowerCaseNames[i], values[i]);
+		} else {
+			setVariables(lowerCaseNames, values);
+		}
+	}
+
+	/**
+	 * Sets the given global variables to the given values, in order.
+	 *
+	 * @param names the variable names.
+	 * @param values the values, {@code null} elements delete the variables.
+	 */
+	static void setVariables(String[] names, Object[] values) {
+		boolean gotLock = variablesLock.writeLock().tryLock();
+		if (gotLock) {
+			try {
+				List<SerializedVariable> serializedVariables = new ArrayList<>(names.length);
+				for (int i = 0; i < names.length; i++) {
+					variables.setVariable(names[i], values[i]);
+					serializedVariables.add(serialize(names[i], values[i]));
+				}
+				saveQueue.add(serializedVariables);
+				processChangeQueue();
+			} finally {
+				variablesLock.writeLock().unlock();
+			}
+		} else {
+			for (int i = 0; i < names.length; i++)
+				queueVariableChange(names[i], values[i]);
+		}
+	}
+
 	/**
 	 * Changes to variables that have not yet been performed.
 	 */
@@ -819,14 +895,19 @@ public class Variables {
 	 * @param value the value of the variable.
 	 */
 	private static void saveVariableChange(String name, @Nullable Object value) {
-		saveQueue.add(serialize(name, value));
+		saveQueue.add(Collections.singletonList(serialize(name, value)));
 	}
 
 	/**
 	 * The queue of serialized variables that have not yet been written
-	 * to the storage.
+	 * to the storage, in batches of variables that were changed together.
 	 */
-	static final BlockingQueue<SerializedVariable> saveQueue = new LinkedBlockingQueue<>();
+	static final BlockingQueue<List<SerializedVariable>> saveQueue = new LinkedBlockingQueue<>();
+
+	static {
+		SkriptMetrics.gauge("variables_change_queue", "Variable changes waiting to be applied to the variable map", () -> changeQueue.size());
+		SkriptMetrics.gauge("variables_save_queue", "Batches of serialized variables waiting to be handed to their storage", () -> saveQueue.size());
+	}
 
 	/**
 	 * Whether the {@link #saveThread} should be stopped.
@@ -839,14 +920,14 @@ public class Variables {
 	private static final Thread saveThread = Skript.newThread(() -> {
 		while (!closed) {
 			try {
-				// Save one variable change
-				SerializedVariable variable = saveQueue.take();
+				// Save one change, or all variables that were set together
+				for (SerializedVariable variable : saveQueue.take()) {
+					for (VariablesStorage variablesStorage : STORAGES) {
+						if (variablesStorage.accept(variable.name)) {
+							variablesStorage.save(variable);
 
-				for (VariablesStorage variablesStorage : STORAGES) {
-					if (variablesStorage.accept(variable.name)) {
-						variablesStorage.save(variable);
-
-						break;
+							break;
+						}
 					}
 				}
 			} catch (InterruptedException ignored) {}
@@ -144,6 +144,7 @@ final class VariablesMap {
 	final HashMap<String, Object> hashMap = new HashMap<>();
 	/**
 	 * The tree of variables, branched by the list structure of the variables.
+	 * Every branch is a {@link VariableBranch}.
 	 */
 	final TreeMap<String, Object> treeMap = new TreeMap<>();
 
@@ -234,7 +235,7 @@ final class VariablesMap {
 					break;
 				} else if (value != null) {
 					// Create child node, add it to parent and continue iteration
-					childNode = new TreeMap<>(VARIABLE_NAME_COMPARATOR);
+					childNode = new VariableBranch();
 
 					parent.put(childNodeName, childNode);
 					parent = (TreeMap<String, Object>) childNode;
@@ -264,6 +265,10 @@ final class VariablesMap {
 					// If the list variable itself has a value ,
 					//  e.g. list `{mylist::3}` while variable `{mylist}` also has a value,
 					//  then adjust the parent for that
+					// The branch itself stays as it is, which loops of it need to know about
+					if (childNodeMap instanceof VariableBranch)
+						((VariableBranch) childNodeMap).detach();
+
 					Object currentChildValue = childNodeMap.get(null);
 					if (currentChildValue == null)
 						parent.remove(childNodeName);
@@ -287,7 +292,7 @@ final class VariablesMap {
 					break;
 				} else if (value != null) {
 					// Need to continue iteration, create new child node and put old value in it
-					TreeMap<String, Object> newChildNodeMap = new TreeMap<>(VARIABLE_NAME_COMPARATOR);
+					TreeMap<String, Object> newChildNodeMap = new VariableBranch();
 					newChildNodeMap.put(null, childNode);
 
 					// Add new child node to parent
@@ -352,7 +357,7 @@ final class VariablesMap {
 	 */
 	@SuppressWarnings("unchecked")
 	private static TreeMap<String, Object> copyTreeMap(TreeMap<String, Object> original) {
-		TreeMap<String, Object> copy = new TreeMap<>(VARIABLE_NAME_COMPARATOR);
+		TreeMap<String, Object> copy = new VariableBranch();
 
 		for (Entry<String, Object> child : original.entrySet()) {
 			String key = child.getKey();
@@ -31,6 +31,7 @@ import ch.njol.skript.config.SectionNode;
 import ch.njol.skript.lang.ParseContext;
 import ch.njol.skript.log.ParseLogHandler;
 import ch.njol.skript.log.SkriptLogger;
+import ch.njol.skript.metrics.SkriptMetrics;
 import ch.njol.skript.registrations.Classes;
 import ch.njol.skript.util.FileUtils;
 import ch.njol.skript.util.Task;
@@ -103,6 +104,9 @@ public abstract class VariablesStorage implements Closeable {
 		assert name != null;
 		databaseName = name;
 
+		SkriptMetrics.gauge("variables_storage_queue", SkriptMetrics.label("database", name),
+			"Variable changes waiting to be written to this storage", changesQueue::size);
+
 		writeThread = Skript.newThread(() -> {
 			while (!closed) {
 				try {